@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,10 +10,22 @@
 
 package jakarta.xml.soap;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Iterator;
 
 import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
 
 /**
  * A single attachment to a {@code SOAPMessage} object. A {@code SOAPMessage}
@@ -102,6 +114,10 @@ import jakarta.activation.DataHandler;
  */
 
 public abstract class AttachmentPart {
+
+    // size hint set by setContentLength, -1 if not set
+    private long contentLength = -1;
+
     /**
      * Returns the number of bytes in this {@code AttachmentPart}
      * object.
@@ -111,15 +127,150 @@ public abstract class AttachmentPart {
      * @exception SOAPException if the content of this attachment is
      *            corrupted of if there was an exception while trying
      *            to determine the size.
+     * @see #getSizeIfKnown
      */
     public abstract int getSize() throws SOAPException;
 
     /**
      * Clears out the content of this {@code AttachmentPart} object.
      * The MIME header portion is left untouched.
+     * <p>
+     * If the content has been spooled to a temporary file, the file is
+     * deleted.
+     *
+     * @see SOAPMessage.Property#ATTACHMENT_MEMORY_THRESHOLD
      */
     public abstract void clearContent();
 
+    /**
+     * Returns the number of bytes of the content of this
+     * {@code AttachmentPart} object that are held in memory.
+     * <p>
+     * The default implementation returns -1.
+     *
+     * @return the number of bytes held in memory or -1 if it cannot be
+     *         determined
+     * @see SOAPMessage.Property#ATTACHMENT_MEMORY_THRESHOLD
+     * @since 3.1
+     */
+    public long getBytesInMemory() {
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes of the content of this
+     * {@code AttachmentPart} object that are spooled to a temporary file.
+     * <p>
+     * The default implementation returns -1.
+     *
+     * @return the number of bytes spooled to disk or -1 if it cannot be
+     *         determined
+     * @see SOAPMessage.Property#ATTACHMENT_MEMORY_THRESHOLD
+     * @since 3.1
+     */
+    public long getBytesOnDisk() {
+        return -1;
+    }
+
+    /**
+     * Sets a hint for the number of bytes of the raw content of this
+     * {@code AttachmentPart} object. Senders that know the size of content
+     * provided as a stream use this method so that the size is available
+     * from {@link #getSizeIfKnown()} without reading the content.
+     * <p>
+     * The hint is held by this object only; it is not written as a MIME
+     * header. It describes the current content: the {@code setRawContent}
+     * methods of this class taking a {@code Path}, a {@code FileChannel}, a
+     * {@code ByteBuffer} or an {@code AttachmentStore.Content} clear it, and
+     * an application replacing the content by other means must set it again
+     * or clear it.
+     *
+     * @param length the size of the raw content in bytes, or a negative
+     *        value to clear the hint
+     * @see #getSizeIfKnown
+     * @since 3.1
+     */
+    public void setContentLength(long length) {
+        contentLength = length < 0 ? -1 : length;
+    }
+
+    /**
+     * Returns the number of bytes of the raw content of this
+     * {@code AttachmentPart} object if it is known without reading the
+     * content. Unlike {@link #getSize()}, this method never reads or decodes
+     * the content, so it can be used for quota checks and for framing
+     * without forcing spooled or streamed content into memory.
+     * <p>
+     * The default implementation returns the size of the buffer or the file
+     * given to the {@code setRawContent} methods of this class, the hint set
+     * by {@link #setContentLength(long)}, or the value of a
+     * {@code Content-Length} header received with the attachment.
+     *
+     * @return the size of the raw content in bytes or -1 if it is not known
+     * @since 3.1
+     */
+    public long getSizeIfKnown() {
+        try {
+            DataSource source = getDataHandler().getDataSource();
+            if (source instanceof ByteBufferDataSource)
+                return ((ByteBufferDataSource) source).size();
+            if (source instanceof FileRegionDataSource)
+                return ((FileRegionDataSource) source).size();
+        } catch (SOAPException | IOException e) {
+            // no content or file not accessible, fall back to the hints
+        }
+        if (contentLength >= 0)
+            return contentLength;
+        String[] values = getMimeHeader("Content-Length");
+        if (values != null && values.length > 0) {
+            try {
+                long length = Long.parseLong(values[0].trim());
+                if (length >= 0)
+                    return length;
+            } catch (NumberFormatException e) {
+                // malformed header
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the digest of the raw content of this {@code AttachmentPart},
+     * computed with the given {@code MessageDigest} algorithm.
+     * <p>
+     * If the algorithm is listed in the
+     * {@link SOAPMessage.Property#ATTACHMENT_DIGEST_ALGORITHMS} property of
+     * the message, implementations compute the digest while the content is
+     * parsed or written and return it without reading the content again.
+     * The default implementation digests the stream returned by
+     * {@link #getRawContent()}.
+     *
+     * @param algorithm the name of the digest algorithm, such as
+     *        {@code "SHA-256"}
+     * @return a new array holding the digest of the raw content
+     * @exception SOAPException if the algorithm is not available, there is
+     *            no content set into this {@code AttachmentPart} object or
+     *            the content cannot be read
+     * @since 3.1
+     */
+    public byte[] getDigest(String algorithm) throws SOAPException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new SOAPException("Unsupported digest algorithm: " + algorithm, e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = getRawContent()) {
+            int n;
+            while ((n = in.read(buffer)) != -1)
+                digest.update(buffer, 0, n);
+        } catch (IOException e) {
+            throw new SOAPException("Cannot read attachment content", e);
+        }
+        return digest.digest();
+    }
+
     /**
      * Gets the content of this {@code AttachmentPart} object as a Java
      * object. The type of the returned Java object depends on (1) the
@@ -197,6 +348,140 @@ public abstract class AttachmentPart {
      */
     public abstract byte[] getRawContentBytes() throws SOAPException;
 
+    /**
+     * Gets the content of this {@code AttachmentPart} object as a read-only
+     * {@code ByteBuffer}, as if a call had been made to {@code getContent}
+     * and no {@code DataContentHandler} had been registered for the
+     * {@code content-type} of this {@code AttachmentPart}.
+     * <p>
+     * Unlike {@link #getRawContentBytes()}, this method does not need to
+     * copy the content. If the content was set with
+     * {@link #setRawContent(ByteBuffer, String)}, a read-only view of that
+     * buffer is returned; if it was set from a file, the file may be mapped
+     * into memory. The returned buffer is independent of other buffers
+     * returned by this method, its position is zero and its limit is the
+     * size of the content.
+     * <p>
+     * The default implementation returns a view of the buffer or a mapping
+     * of the file given to the {@code setRawContent} methods of this class
+     * and otherwise wraps the array returned by {@code getRawContentBytes}.
+     *
+     * @return a read-only {@code ByteBuffer} containing the raw data of the
+     *      {@code AttachmentPart}
+     *
+     * @throws SOAPException if there is no content set into this
+     *      {@code AttachmentPart} object, if the content is larger than
+     *      {@code Integer.MAX_VALUE} bytes or if there was a data
+     *      transformation error
+     *
+     * @since 3.1
+     */
+    public ByteBuffer getRawContentBuffer() throws SOAPException {
+        DataSource source = getDataHandler().getDataSource();
+        if (source instanceof ByteBufferDataSource)
+            return ((ByteBufferDataSource) source).buffer();
+        if (source instanceof FileRegionDataSource) {
+            try {
+                return ((FileRegionDataSource) source).map().asReadOnlyBuffer();
+            } catch (IOException e) {
+                throw new SOAPException("Unable to map attachment content", e);
+            }
+        }
+        return ByteBuffer.wrap(getRawContentBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the raw content of this {@code AttachmentPart} object to the
+     * given stream, without the MIME headers. The stream is not closed.
+     * <p>
+     * Implementations write the content along the cheapest path available,
+     * for example directly from a buffer or by a file channel transfer,
+     * without creating intermediate copies of the whole content. The default
+     * implementation does so for the buffer or the file given to the
+     * {@code setRawContent} methods of this class and otherwise copies the
+     * stream returned by {@link #getRawContent()}.
+     *
+     * @param out the stream to which the content is written
+     * @return the number of bytes written
+     * @exception SOAPException if there is no content set into this
+     *            {@code AttachmentPart} object or if there was a data
+     *            transformation error
+     * @exception IOException if an I/O error occurs
+     * @since 3.1
+     */
+    public long transferTo(OutputStream out) throws SOAPException, IOException {
+        if (out == null)
+            throw new NullPointerException("out");
+        DataSource source = getDataHandler().getDataSource();
+        if (source instanceof ByteBufferDataSource) {
+            ByteBuffer buffer = ((ByteBufferDataSource) source).buffer();
+            int size = buffer.remaining();
+            byte[] chunk = new byte[Math.min(size, 8192)];
+            while (buffer.hasRemaining()) {
+                int n = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+            return size;
+        }
+        if (source instanceof FileRegionDataSource)
+            return ((FileRegionDataSource) source).transferTo(Channels.newChannel(out));
+        long count = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = getRawContent()) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                count += n;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the raw content of this {@code AttachmentPart} object to the
+     * given channel, without the MIME headers. The channel is not closed.
+     * <p>
+     * The default implementation writes buffer content directly to the
+     * channel, transfers file content with
+     * {@link FileChannel#transferTo FileChannel.transferTo} and otherwise
+     * copies the stream returned by {@link #getRawContent()}.
+     *
+     * @param target the channel to which the content is written
+     * @return the number of bytes written
+     * @exception SOAPException if there is no content set into this
+     *            {@code AttachmentPart} object or if there was a data
+     *            transformation error
+     * @exception IOException if an I/O error occurs
+     * @see #transferTo(OutputStream)
+     * @since 3.1
+     */
+    public long transferTo(WritableByteChannel target) throws SOAPException, IOException {
+        if (target == null)
+            throw new NullPointerException("target");
+        DataSource source = getDataHandler().getDataSource();
+        if (source instanceof ByteBufferDataSource) {
+            ByteBuffer buffer = ((ByteBufferDataSource) source).buffer();
+            int size = buffer.remaining();
+            while (buffer.hasRemaining())
+                target.write(buffer);
+            return size;
+        }
+        if (source instanceof FileRegionDataSource)
+            return ((FileRegionDataSource) source).transferTo(target);
+        long count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        try (ReadableByteChannel in = Channels.newChannel(getRawContent())) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining())
+                    count += target.write(buffer);
+                buffer.clear();
+            }
+        }
+        return count;
+    }
+
     /**
      * Returns an {@code InputStream} which can be used to obtain the
      * content of {@code AttachmentPart}  as Base64 encoded
@@ -256,6 +541,138 @@ public abstract class AttachmentPart {
      */
     public abstract void setRawContent(InputStream content, String contentType) throws SOAPException;
 
+    /**
+     * Sets the content of this attachment part to the content of the given
+     * file and sets the value of the {@code Content-Type} header to the value
+     * contained in {@code contentType}.
+     * <P>
+     * The content of the file is not copied into memory. It is read from the
+     * file when the attachment is written or its content is requested, so the
+     * file must not be modified or deleted while this attachment is in use.
+     * Implementations are encouraged to use memory-mapped or
+     * {@link FileChannel#transferTo FileChannel.transferTo} I/O to write the
+     * content, and to derive the size of the attachment from the length of
+     * the file.
+     * <P>
+     * The default implementation sets a {@code DataHandler} reading the file
+     * with positional channel reads.
+     *
+     * @param file the file holding the raw data of the attachment part
+     * @param contentType the value to set into the {@code Content-Type}
+     * header
+     *
+     * @exception SOAPException if {@code file} is not a readable regular file
+     * @exception NullPointerException if {@code file} is null
+     * @since 3.1
+     */
+    public void setRawContent(Path file, String contentType) throws SOAPException {
+        if (file == null)
+            throw new NullPointerException("file");
+        if (!Files.isRegularFile(file) || !Files.isReadable(file))
+            throw new SOAPException("Not a readable regular file: " + file);
+        setDataHandler(new DataHandler(new FileRegionDataSource(file, contentType)));
+        setContentType(contentType);
+        contentLength = -1;
+    }
+
+    /**
+     * Sets the content of this attachment part to a region of the given file
+     * channel and sets the value of the {@code Content-Type} header to the
+     * value contained in {@code contentType}.
+     * <P>
+     * The content is read from the channel with positional reads, which do
+     * not change the position of the channel, when the attachment is written
+     * or its content is requested. The channel is not closed by this
+     * attachment and must remain open while this attachment is in use.
+     *
+     * @param channel the channel holding the raw data of the attachment part
+     * @param position the position in the channel of the first byte of the
+     *        content
+     * @param count the number of bytes that form the content
+     * @param contentType the value to set into the {@code Content-Type}
+     * header
+     *
+     * @exception SOAPException if an there is an error in setting the content
+     * @exception NullPointerException if {@code channel} is null
+     * @exception IllegalArgumentException if {@code position} or
+     *            {@code count} is negative
+     * @since 3.1
+     */
+    public void setRawContent(FileChannel channel, long position, long count, String contentType)
+            throws SOAPException {
+        if (channel == null)
+            throw new NullPointerException("channel");
+        if (position < 0 || count < 0)
+            throw new IllegalArgumentException("Negative position or count");
+        setDataHandler(new DataHandler(new FileRegionDataSource(channel, position, count, contentType)));
+        setContentType(contentType);
+        contentLength = -1;
+    }
+
+    /**
+     * Sets the content of this attachment part to the remaining bytes of the
+     * given {@code ByteBuffer} and sets the value of the
+     * {@code Content-Type} header to the value contained in
+     * {@code contentType}.
+     * <P>
+     * The buffer, which may be a heap or a direct buffer, is not copied. The
+     * content is formed by the bytes between its current position and its
+     * limit; later changes to the position or limit of {@code content} do not
+     * affect the attachment, but the bytes must not be modified while this
+     * attachment is in use.
+     * <P>
+     * The default implementation sets a {@code DataHandler} reading a
+     * read-only view of the buffer.
+     *
+     * @param content the raw data of the attachment part
+     * @param contentType the value to set into the {@code Content-Type}
+     * header
+     *
+     * @exception SOAPException if an there is an error in setting the content
+     * @exception NullPointerException if {@code content} is null
+     * @see #getRawContentBuffer
+     * @since 3.1
+     */
+    public void setRawContent(ByteBuffer content, String contentType) throws SOAPException {
+        if (content == null)
+            throw new NullPointerException("content");
+        setDataHandler(new DataHandler(new ByteBufferDataSource(content, contentType)));
+        setContentType(contentType);
+        contentLength = -1;
+    }
+
+    /**
+     * Sets the content of this attachment part to content held by an
+     * {@code AttachmentStore} and sets the value of the
+     * {@code Content-Type} header to the value contained in
+     * {@code contentType}.
+     * <P>
+     * The content is shared, not copied: any number of attachment parts, of
+     * any number of messages, may use the same stored content. The handle
+     * may be closed once the message has been written; the attachment keeps
+     * its content even if the store evicts it.
+     * <P>
+     * The default implementation sets a {@code DataHandler} reading the
+     * {@link AttachmentStore.Content#getDataSource data source} of the
+     * stored content.
+     *
+     * @param content the stored content of the attachment part
+     * @param contentType the value to set into the {@code Content-Type}
+     * header
+     *
+     * @exception SOAPException if an there is an error in setting the content
+     * @exception NullPointerException if {@code content} is null
+     * @see AttachmentStore
+     * @since 3.1
+     */
+    public void setRawContent(AttachmentStore.Content content, String contentType) throws SOAPException {
+        if (content == null)
+            throw new NullPointerException("content");
+        setDataHandler(new DataHandler(content.getDataSource(contentType)));
+        setContentType(contentType);
+        contentLength = -1;
+    }
+
     /**
      * Sets the content of this attachment part to that contained by the
      * {@code byte[]} array {@code content} and sets the value of the
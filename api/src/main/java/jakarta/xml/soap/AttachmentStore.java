@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.activation.DataSource;
+
+/**
+ * A bounded, content-addressed store of attachment content shared by any
+ * number of {@code SOAPMessage} objects.
+ * <p>
+ * Content added to the store is identified by its digest. Adding content
+ * that is already stored returns the existing copy, so content sent as an
+ * attachment of many messages, such as a logo or a schema, is held only
+ * once. The returned {@link Content} handle is set into an attachment with
+ * {@link AttachmentPart#setRawContent(AttachmentStore.Content, String)}.
+ * <pre>{@code
+ *     AttachmentStore store = new AttachmentStore(64 * 1024 * 1024);
+ *     try (AttachmentStore.Content logo = store.add(logoPath)) {
+ *         for (SOAPMessage message : batch) {
+ *             AttachmentPart part = message.createAttachmentPart();
+ *             part.setRawContent(logo, "image/png");
+ *             message.addAttachmentPart(part);
+ *             message.writeTo(out);
+ *         }
+ *     }
+ * }</pre>
+ * <p>
+ * Handles are reference counted: every call to an {@code add} method
+ * returns a handle that must be closed once the content is no longer
+ * needed. Content without open handles is kept in the store for later reuse
+ * and evicted in least-recently-used order when the total size of the
+ * unreferenced content exceeds the capacity of the store. Content with open
+ * handles is never evicted and does not count toward the capacity, so the
+ * store may hold any amount of referenced content. Content added from a
+ * file counts with the size of the file, although it is not held in
+ * memory. Attachments that already use evicted content keep working; only
+ * the deduplication of later additions is lost.
+ * <p>
+ * A file given to {@link #add(Path)} remains owned by the caller. The
+ * content of the returned handle is read from that file, or from memory if
+ * the same content has also been added from a stream or a buffer, never
+ * from a file given by another caller, so each caller may delete its file
+ * once its handle is closed and the data sources obtained from it are no
+ * longer used.
+ * <p>
+ * An {@code AttachmentStore} is thread-safe.
+ *
+ * @since 3.1
+ */
+public final class AttachmentStore {
+
+    /**
+     * The digest algorithm used when none is specified, {@code SHA-256}.
+     */
+    public static final String DEFAULT_DIGEST_ALGORITHM = "SHA-256";
+
+    private final long capacity;
+    private final String algorithm;
+    // access-ordered, the eldest entry is the least recently used one
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    // total size of the entries without references
+    private long unreferenced;
+
+    /**
+     * Creates a store using the {@link #DEFAULT_DIGEST_ALGORITHM}.
+     *
+     * @param capacity the maximum number of bytes of unreferenced content
+     *        kept in the store
+     * @exception IllegalArgumentException if {@code capacity} is negative
+     */
+    public AttachmentStore(long capacity) {
+        this(capacity, DEFAULT_DIGEST_ALGORITHM);
+    }
+
+    /**
+     * Creates a store identifying content by the given digest algorithm.
+     *
+     * @param capacity the maximum number of bytes of unreferenced content
+     *        kept in the store
+     * @param algorithm the name of the {@code MessageDigest} algorithm
+     * @exception IllegalArgumentException if {@code capacity} is negative or
+     *            the algorithm is not available
+     */
+    public AttachmentStore(long capacity, String algorithm) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        try {
+            MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, e);
+        }
+        this.capacity = capacity;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Adds the content read from the given stream until its end. The content
+     * is held in memory; the stream is not closed.
+     *
+     * @param content the stream providing the content
+     * @return a handle to the stored content
+     * @exception SOAPException if the content cannot be read
+     */
+    public Content add(InputStream content) throws SOAPException {
+        if (content == null)
+            throw new NullPointerException("content");
+        MessageDigest digest = newDigest();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try {
+            int n;
+            while ((n = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+                bytes.write(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new SOAPException("Cannot read attachment content", e);
+        }
+        ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+        return add(digest.digest(), data.remaining(), data, null);
+    }
+
+    /**
+     * Adds the remaining content of the given buffer. The buffer is not
+     * copied and must not be modified afterwards; its position is not
+     * changed.
+     *
+     * @param content the content
+     * @return a handle to the stored content
+     */
+    public Content add(ByteBuffer content) {
+        if (content == null)
+            throw new NullPointerException("content");
+        MessageDigest digest = newDigest();
+        digest.update(content.duplicate());
+        return add(digest.digest(), content.remaining(), content.slice(), null);
+    }
+
+    /**
+     * Adds the content of the given file. The content is not loaded into
+     * memory, it is read from the file whenever an attachment using it is
+     * written, so the file must not be modified or deleted until the
+     * returned handle is closed and the data sources obtained from it are
+     * no longer used. If the same content is already stored, the returned
+     * handle still reads it from the given file.
+     *
+     * @param file the file holding the content
+     * @return a handle to the stored content
+     * @exception SOAPException if the file cannot be read
+     */
+    public Content add(Path file) throws SOAPException {
+        if (file == null)
+            throw new NullPointerException("file");
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        long count = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+                count += n;
+            }
+        } catch (IOException e) {
+            throw new SOAPException("Cannot read attachment content", e);
+        }
+        return add(digest.digest(), count, null, file);
+    }
+
+    /**
+     * Returns the maximum number of bytes of unreferenced content kept in
+     * this store.
+     *
+     * @return the capacity of this store
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the total number of bytes of content currently held in this
+     * store, referenced or not, including content stored in files.
+     *
+     * @return the size of the stored content
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct contents currently held in this store.
+     *
+     * @return the number of stored contents
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all unreferenced content from this store.
+     */
+    public synchronized void clear() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.references == 0) {
+                size -= entry.size;
+                unreferenced -= entry.size;
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized Content add(byte[] digest, long count, ByteBuffer data, Path file) {
+        String key = toHex(digest);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(digest, count, data);
+            entries.put(key, entry);
+            size += count;
+        } else {
+            if (entry.references == 0)
+                unreferenced -= entry.size;
+            // content known only from files is read from memory from now on
+            if (entry.data == null)
+                entry.data = data;
+        }
+        entry.references++;
+        evict();
+        return new Content(entry, file);
+    }
+
+    private synchronized void release(Entry entry) {
+        if (--entry.references == 0)
+            unreferenced += entry.size;
+        evict();
+    }
+
+    private void evict() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && unreferenced > capacity; ) {
+            Entry entry = it.next();
+            if (entry.references == 0) {
+                size -= entry.size;
+                unreferenced -= entry.size;
+                it.remove();
+            }
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // checked by the constructor
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            chars[2 * i + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(chars);
+    }
+
+    private static final class Entry {
+        final byte[] digest;
+        final long size;
+        // the content held in memory, null if it was only added from files
+        volatile ByteBuffer data;
+        int references;
+
+        Entry(byte[] digest, long size, ByteBuffer data) {
+            this.digest = digest;
+            this.size = size;
+            this.data = data;
+        }
+    }
+
+    /**
+     * A handle to content held by an {@code AttachmentStore}. Closing the
+     * handle releases its reference to the content; closing it again has no
+     * effect.
+     *
+     * @since 3.1
+     */
+    public final class Content implements Closeable {
+
+        private final Entry entry;
+        // the file given to add(Path) for this handle, null otherwise
+        private final Path file;
+        private boolean closed;
+
+        private Content(Entry entry, Path file) {
+            this.entry = entry;
+            this.file = file;
+        }
+
+        /**
+         * Returns the digest identifying this content.
+         *
+         * @return a new array holding the digest
+         */
+        public byte[] getDigest() {
+            return entry.digest.clone();
+        }
+
+        /**
+         * Returns the name of the algorithm of the digest identifying this
+         * content.
+         *
+         * @return the name of the digest algorithm
+         */
+        public String getDigestAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * Returns the size of this content.
+         *
+         * @return the number of bytes of this content
+         */
+        public long getSize() {
+            return entry.size;
+        }
+
+        /**
+         * Returns a {@code DataSource} reading this content without copying
+         * it. The data source remains usable after this handle is closed.
+         *
+         * @param contentType the content type reported by the data source
+         * @return a new read-only {@code DataSource}
+         */
+        public DataSource getDataSource(String contentType) {
+            ByteBuffer data = entry.data;
+            return data != null
+                ? new ByteBufferDataSource(data, contentType)
+                : new FileRegionDataSource(file, contentType);
+        }
+
+        /**
+         * Releases the reference of this handle to the content.
+         */
+        @Override
+        public void close() {
+            synchronized (AttachmentStore.this) {
+                if (closed)
+                    return;
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Streaming Base64 encoding and decoding of attachment content.
+ * <p>
+ * The streams returned by this class process data in chunks of a fixed
+ * size, so content of any size is encoded or decoded in constant memory.
+ * Encoded data uses the basic Base64 alphabet of RFC 4648, optionally
+ * wrapped into lines terminated by {@code CRLF} as required by MIME
+ * (RFC 2045). Decoding accepts wrapped and unwrapped data and ignores line
+ * separators and other characters outside of the Base64 alphabet.
+ * <p>
+ * SAAJ implementations use this class for
+ * {@link AttachmentPart#getBase64Content()} and
+ * {@link AttachmentPart#setBase64Content(InputStream, String)}.
+ *
+ * @since 3.1
+ */
+public final class Base64Codec {
+
+    /**
+     * The line length used by MIME, 76 characters.
+     */
+    public static final int MIME_LINE_LENGTH = 76;
+
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private static final int CHUNK = 3 * 1024;
+
+    private Base64Codec() {
+    }
+
+    /**
+     * Returns an {@code InputStream} providing the Base64 encoding of the
+     * data read from {@code in}. Closing the returned stream closes
+     * {@code in}.
+     *
+     * @param in the stream providing the data to encode
+     * @param lineLength the maximum number of characters per line, rounded
+     *        down to a multiple of 4; if zero or negative, the output is not
+     *        wrapped
+     * @return a stream providing the encoded data
+     */
+    public static InputStream encodingStream(InputStream in, int lineLength) {
+        if (in == null)
+            throw new NullPointerException("in");
+        return new EncodingInputStream(in, lineLength / 4 * 4);
+    }
+
+    /**
+     * Returns an {@code InputStream} providing the data decoded from the
+     * Base64 data read from {@code in}. Closing the returned stream closes
+     * {@code in}.
+     *
+     * @param in the stream providing the Base64 data
+     * @return a stream providing the decoded data
+     */
+    public static InputStream decodingStream(InputStream in) {
+        if (in == null)
+            throw new NullPointerException("in");
+        return Base64.getMimeDecoder().wrap(in);
+    }
+
+    /**
+     * Returns an {@code OutputStream} encoding all data written to it into
+     * Base64 and writing the result to {@code out}. The returned stream must
+     * be closed to write the final, padded group of characters; closing it
+     * closes {@code out}.
+     *
+     * @param out the stream receiving the encoded data
+     * @param lineLength the maximum number of characters per line, rounded
+     *        down to a multiple of 4; if zero or negative, the output is not
+     *        wrapped
+     * @return a stream encoding the data written to it
+     */
+    public static OutputStream encoder(OutputStream out, int lineLength) {
+        if (out == null)
+            throw new NullPointerException("out");
+        return encoder(lineLength).wrap(out);
+    }
+
+    /**
+     * Returns an {@code OutputStream} decoding all Base64 data written to it
+     * and writing the decoded data to {@code out}. The returned stream must
+     * be closed to decode the final group of characters; closing it closes
+     * {@code out}.
+     *
+     * @param out the stream receiving the decoded data
+     * @return a stream decoding the data written to it
+     */
+    public static OutputStream decoder(OutputStream out) {
+        if (out == null)
+            throw new NullPointerException("out");
+        return new DecodingOutputStream(out);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer into a new buffer. The
+     * position of {@code src} is advanced to its limit.
+     *
+     * @param src the data to encode
+     * @param lineLength the maximum number of characters per line, rounded
+     *        down to a multiple of 4; if zero or negative, the output is not
+     *        wrapped
+     * @return a new buffer holding the encoded data
+     */
+    public static ByteBuffer encode(ByteBuffer src, int lineLength) {
+        return encoder(lineLength).encode(src);
+    }
+
+    /**
+     * Decodes the remaining Base64 data of the given buffer into a new
+     * buffer. The position of {@code src} is advanced to its limit.
+     *
+     * @param src the Base64 data to decode
+     * @return a new buffer holding the decoded data
+     * @exception IllegalArgumentException if {@code src} is not valid Base64
+     *            data
+     */
+    public static ByteBuffer decode(ByteBuffer src) {
+        return Base64.getMimeDecoder().decode(src);
+    }
+
+    private static Base64.Encoder encoder(int lineLength) {
+        return lineLength >= 4 ? Base64.getMimeEncoder(lineLength, CRLF) : Base64.getEncoder();
+    }
+
+    private static final class EncodingInputStream extends InputStream {
+        private final InputStream in;
+        private final Base64.Encoder encoder;
+        private final int lineLength;
+        private final byte[] raw;
+        private byte[] encoded = new byte[0];
+        private int pos;
+        private boolean eof;
+        private boolean started;
+
+        EncodingInputStream(InputStream in, int lineLength) {
+            this.in = in;
+            this.lineLength = lineLength >= 4 ? lineLength : 0;
+            this.encoder = encoder(lineLength);
+            // keep chunks aligned to whole lines so that line breaks can be
+            // inserted between chunks
+            int rawLine = this.lineLength / 4 * 3;
+            this.raw = new byte[rawLine > 0 ? Math.max(1, CHUNK / rawLine) * rawLine : CHUNK];
+        }
+
+        private boolean fill() throws IOException {
+            while (pos >= encoded.length) {
+                if (eof)
+                    return false;
+                int n = 0;
+                while (n < raw.length) {
+                    int r = in.read(raw, n, raw.length - n);
+                    if (r < 0) {
+                        eof = true;
+                        break;
+                    }
+                    n += r;
+                }
+                if (n == 0)
+                    continue;
+                byte[] chunk = encoder.encode(n == raw.length ? raw : Arrays.copyOf(raw, n));
+                if (started && lineLength > 0) {
+                    encoded = new byte[chunk.length + 2];
+                    encoded[0] = '\r';
+                    encoded[1] = '\n';
+                    System.arraycopy(chunk, 0, encoded, 2, chunk.length);
+                } else {
+                    encoded = chunk;
+                }
+                started = true;
+                pos = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? encoded[pos++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (!fill())
+                return -1;
+            int n = Math.min(len, encoded.length - pos);
+            System.arraycopy(encoded, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return encoded.length - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class DecodingOutputStream extends FilterOutputStream {
+        private final Base64.Decoder decoder = Base64.getDecoder();
+        private final byte[] quads = new byte[4 * 1024];
+        private final byte[] decoded = new byte[3 * 1024];
+        private int count;
+        private boolean padded;
+        private boolean closed;
+
+        DecodingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (closed)
+                throw new IOException("Stream closed");
+            if (b == '=') {
+                padded = true;
+                quads[count++] = (byte) b;
+            } else if (isAlphabet(b)) {
+                if (padded)
+                    throw new IOException("Base64 data after padding");
+                quads[count++] = (byte) b;
+            } else {
+                // line separators and other characters are ignored
+                return;
+            }
+            if (count == quads.length)
+                drain(false);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed)
+                throw new IOException("Stream closed");
+            if (off < 0 || len < 0 || len > b.length - off)
+                throw new IndexOutOfBoundsException();
+            int end = off + len;
+            int i = off;
+            while (i < end) {
+                // copy the run of alphabet bytes at i at once, the other
+                // bytes are handled one at a time
+                int start = i;
+                int limit = Math.min(end, i + quads.length - count);
+                if (!padded) {
+                    while (i < limit && isAlphabet(b[i]))
+                        i++;
+                }
+                if (i == start) {
+                    write(b[i++]);
+                    continue;
+                }
+                System.arraycopy(b, start, quads, count, i - start);
+                count += i - start;
+                if (count == quads.length)
+                    drain(false);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+            try {
+                drain(true);
+                closed = true;
+            } finally {
+                super.close();
+            }
+        }
+
+        private void drain(boolean last) throws IOException {
+            int whole = count / 4 * 4;
+            int rest = count - whole;
+            if (last && rest != 0) {
+                if (rest == 1)
+                    throw new IOException("Truncated Base64 data");
+                while (count % 4 != 0)
+                    quads[count++] = '=';
+                whole = count;
+                rest = 0;
+            }
+            try {
+                int n = decoder.decode(whole == quads.length ? quads : Arrays.copyOf(quads, whole), decoded);
+                out.write(decoded, 0, n);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid Base64 data", e);
+            }
+            System.arraycopy(quads, whole, quads, 0, rest);
+            count = rest;
+        }
+
+        private static boolean isAlphabet(int b) {
+            return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9')
+                || b == '+' || b == '/';
+        }
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Streaming implementation of the HTTP {@code Content-Encoding} codings
+ * used for compressed SOAP messages.
+ * <p>
+ * The {@code gzip} (RFC 1952) and {@code deflate} (RFC 1950) codings are
+ * supported. Compression and decompression are performed while data flows
+ * through the returned streams, with a buffer of a fixed size, so the
+ * memory used does not depend on the size of the message. The
+ * {@code Deflater} and {@code Inflater} instances are taken from a shared
+ * pool and returned to it when the stream is finished or closed.
+ * <p>
+ * SAAJ implementations apply the coding selected by
+ * {@link SOAPMessage.Property#CONTENT_ENCODING} in
+ * {@link SOAPMessage#writeTo(OutputStream)} and remove the coding named by the
+ * {@code Content-Encoding} MIME header in
+ * {@link MessageFactory#createMessage(MimeHeaders, InputStream)}.
+ *
+ * @since 3.1
+ */
+public final class ContentEncoding {
+
+    /**
+     * The {@code gzip} content coding.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The {@code deflate} content coding.
+     */
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * The {@code identity} content coding, which leaves the content
+     * unchanged.
+     */
+    public static final String IDENTITY = "identity";
+
+    /**
+     * The name of the MIME header carrying the content coding.
+     */
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    private static final int MAX_POOLED = 32;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private static final Pool<Deflater> DEFLATERS = new Pool<>();
+    private static final Pool<Deflater> RAW_DEFLATERS = new Pool<>();
+    private static final Pool<Inflater> INFLATERS = new Pool<>();
+    private static final Pool<Inflater> RAW_INFLATERS = new Pool<>();
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * Indicates whether the given content coding is supported.
+     *
+     * @param encoding the name of a content coding, case insensitive
+     * @return {@code true} if {@code encoding} is {@code null},
+     *         {@code identity}, {@code gzip}, {@code x-gzip} or
+     *         {@code deflate}; {@code false} otherwise
+     */
+    public static boolean isSupported(String encoding) {
+        String coding = normalize(encoding);
+        return coding == null || GZIP.equals(coding) || DEFLATE.equals(coding);
+    }
+
+    /**
+     * Returns the content coding named by the {@code Content-Encoding}
+     * header of the given MIME headers.
+     *
+     * @param headers the MIME headers of a message
+     * @return the lower case name of the content coding or {@code null} if
+     *         the header is absent or names the {@code identity} coding
+     */
+    public static String getContentEncoding(MimeHeaders headers) {
+        if (headers == null)
+            return null;
+        String[] values = headers.getHeader(CONTENT_ENCODING_HEADER);
+        if (values == null || values.length == 0)
+            return null;
+        return normalize(values[0]);
+    }
+
+    /**
+     * Returns an {@code OutputStream} compressing all data written to it with
+     * the given content coding and writing the result to {@code out}.
+     * <p>
+     * The returned stream must be finished by calling
+     * {@link DeflaterOutputStream#finish()} or closed; closing it also closes
+     * {@code out}. Either call completes the encoded data and returns the
+     * {@code Deflater} of the stream to the pool, so a stream that is only
+     * finished does not need to be closed. If {@code encoding} names the
+     * {@code identity} coding, {@code out} itself is returned.
+     *
+     * @param out the stream receiving the encoded data
+     * @param encoding the name of the content coding
+     * @param level the compression level, from {@code 0} to {@code 9}, or
+     *        {@code -1} for the default level
+     * @param bufferSize the size of the output buffer
+     * @return a stream applying the content coding
+     * @exception SOAPException if the content coding is not supported
+     * @exception IOException if an I/O error occurs while writing the
+     *            header of the coding
+     * @exception IllegalArgumentException if {@code level} or
+     *            {@code bufferSize} is out of range
+     */
+    public static OutputStream encode(OutputStream out, String encoding, int level, int bufferSize)
+            throws SOAPException, IOException {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Illegal compression level: " + level);
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+        String coding = normalize(encoding);
+        if (coding == null)
+            return out;
+        if (GZIP.equals(coding))
+            return new EncodingStream(out, RAW_DEFLATERS, true, level, bufferSize);
+        if (DEFLATE.equals(coding))
+            return new EncodingStream(out, DEFLATERS, false, level, bufferSize);
+        throw new SOAPException("Unsupported content encoding: " + encoding);
+    }
+
+    /**
+     * Returns an {@code InputStream} reading data from {@code in} and
+     * removing the given content coding. For the {@code deflate} coding both
+     * the zlib format and, as commonly sent instead, the raw deflate format
+     * are accepted.
+     * <p>
+     * Closing the returned stream also closes {@code in}. If
+     * {@code encoding} names the {@code identity} coding, {@code in} itself
+     * is returned.
+     *
+     * @param in the stream providing the encoded data
+     * @param encoding the name of the content coding
+     * @param bufferSize the size of the input buffer
+     * @return a stream providing the decoded data
+     * @exception SOAPException if the content coding is not supported
+     * @exception IOException if an I/O error occurs or the header of the
+     *            coding is malformed
+     * @exception IllegalArgumentException if {@code bufferSize} is not
+     *            positive
+     */
+    public static InputStream decode(InputStream in, String encoding, int bufferSize)
+            throws SOAPException, IOException {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+        String coding = normalize(encoding);
+        if (coding == null)
+            return in;
+        if (GZIP.equals(coding)) {
+            readGzipHeader(in);
+            return new DecodingStream(in, RAW_INFLATERS, true, bufferSize);
+        }
+        if (DEFLATE.equals(coding)) {
+            PushbackInputStream pin = new PushbackInputStream(in, 2);
+            int b0 = pin.read();
+            int b1 = pin.read();
+            if (b1 >= 0)
+                pin.unread(b1);
+            if (b0 >= 0)
+                pin.unread(b0);
+            boolean zlib = b0 >= 0 && b1 >= 0 && (b0 & 0x0f) == 8 && ((b0 << 8) | b1) % 31 == 0;
+            return new DecodingStream(pin, zlib ? INFLATERS : RAW_INFLATERS, false, bufferSize);
+        }
+        throw new SOAPException("Unsupported content encoding: " + encoding);
+    }
+
+    private static String normalize(String encoding) {
+        if (encoding == null)
+            return null;
+        String coding = encoding.trim().toLowerCase(Locale.ENGLISH);
+        if (coding.isEmpty() || IDENTITY.equals(coding))
+            return null;
+        if ("x-gzip".equals(coding))
+            return GZIP;
+        return coding;
+    }
+
+    private static void readGzipHeader(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        if (readShort(in, crc) != GZIP_MAGIC)
+            throw new ZipException("Not in GZIP format");
+        if (readByte(in, crc) != 8)
+            throw new ZipException("Unsupported compression method");
+        int flags = readByte(in, crc);
+        // MTIME, XFL and OS
+        for (int i = 0; i < 6; i++)
+            readByte(in, crc);
+        if ((flags & FEXTRA) == FEXTRA) {
+            for (int n = readShort(in, crc); n > 0; n--)
+                readByte(in, crc);
+        }
+        if ((flags & FNAME) == FNAME) {
+            while (readByte(in, crc) != 0) {
+                // skip file name
+            }
+        }
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            while (readByte(in, crc) != 0) {
+                // skip comment
+            }
+        }
+        if ((flags & FHCRC) == FHCRC) {
+            int expected = (int) crc.getValue() & 0xffff;
+            if (readShort(in, null) != expected)
+                throw new ZipException("Corrupt GZIP header");
+        }
+    }
+
+    private static int readShort(InputStream in, CRC32 crc) throws IOException {
+        return readByte(in, crc) | (readByte(in, crc) << 8);
+    }
+
+    private static int readByte(InputStream in, CRC32 crc) throws IOException {
+        int b = in.read();
+        if (b < 0)
+            throw new EOFException("Unexpected end of GZIP stream");
+        if (crc != null)
+            crc.update(b);
+        return b;
+    }
+
+    private static final class Pool<T> {
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T t = queue.poll();
+            if (t != null)
+                size.decrementAndGet();
+            return t;
+        }
+
+        boolean offer(T t) {
+            if (size.incrementAndGet() > MAX_POOLED) {
+                size.decrementAndGet();
+                return false;
+            }
+            queue.offer(t);
+            return true;
+        }
+    }
+
+    private static Deflater acquire(Pool<Deflater> pool, int level) {
+        Deflater deflater = pool.poll();
+        if (deflater == null)
+            return new Deflater(level, pool == RAW_DEFLATERS);
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    private static Inflater acquire(Pool<Inflater> pool) {
+        Inflater inflater = pool.poll();
+        return inflater != null ? inflater : new Inflater(pool == RAW_INFLATERS);
+    }
+
+    private static final class EncodingStream extends DeflaterOutputStream {
+        private final Pool<Deflater> pool;
+        private final CRC32 crc;
+        private boolean finished;
+        private boolean released;
+
+        EncodingStream(OutputStream out, Pool<Deflater> pool, boolean gzip, int level, int bufferSize)
+                throws IOException {
+            super(out, acquire(pool, level), bufferSize);
+            this.pool = pool;
+            this.crc = gzip ? new CRC32() : null;
+            if (gzip) {
+                out.write(new byte[] {
+                    (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED,
+                    0, 0, 0, 0, 0, 0, (byte) 0xff });
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            // the deflater may already be used by another stream
+            if (finished)
+                throw new IOException("write beyond end of stream");
+            super.write(b, off, len);
+            if (crc != null)
+                crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (finished)
+                return;
+            finished = true;
+            try {
+                super.finish();
+                if (crc != null) {
+                    writeInt((int) crc.getValue());
+                    writeInt((int) def.getBytesRead());
+                }
+            } finally {
+                release();
+            }
+        }
+
+        private void writeInt(int i) throws IOException {
+            out.write(i & 0xff);
+            out.write((i >> 8) & 0xff);
+            out.write((i >> 16) & 0xff);
+            out.write((i >> 24) & 0xff);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                def.reset();
+                if (!pool.offer(def))
+                    def.end();
+            }
+        }
+    }
+
+    private static final class DecodingStream extends InflaterInputStream {
+        private final Pool<Inflater> pool;
+        private final CRC32 crc;
+        private boolean trailerRead;
+        private boolean released;
+
+        DecodingStream(InputStream in, Pool<Inflater> pool, boolean gzip, int bufferSize) {
+            super(in, acquire(pool), bufferSize);
+            this.pool = pool;
+            this.crc = gzip ? new CRC32() : null;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (crc != null) {
+                if (n > 0)
+                    crc.update(b, off, n);
+                else if (n < 0 && !trailerRead)
+                    readTrailer();
+            }
+            return n;
+        }
+
+        private void readTrailer() throws IOException {
+            trailerRead = true;
+            int remaining = inf.getRemaining();
+            InputStream trailer = remaining > 0
+                ? new SequenceInputStream(
+                    new ByteArrayInputStream(buf, len - remaining, remaining), in)
+                : in;
+            long expectedCrc = readInt(trailer);
+            long expectedSize = readInt(trailer);
+            if (expectedCrc != crc.getValue()
+                    || expectedSize != (inf.getBytesWritten() & 0xffffffffL))
+                throw new ZipException("Corrupt GZIP trailer");
+        }
+
+        private long readInt(InputStream in) throws IOException {
+            return ((long) readShort(in, null) | ((long) readShort(in, null) << 16)) & 0xffffffffL;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    inf.reset();
+                    if (!pool.offer(inf))
+                        inf.end();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jakarta.activation.DataSource;
+
+/**
+ * A read-only {@code DataSource} over a file, or over a region of an open
+ * {@code FileChannel}. The content is read with positional channel reads
+ * when it is requested, it is never loaded into memory as a whole.
+ */
+final class FileRegionDataSource implements DataSource {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+    private final String contentType;
+
+    // whole file, a channel is opened for every read
+    FileRegionDataSource(Path path, String contentType) {
+        this.path = path;
+        this.channel = null;
+        this.position = 0;
+        this.count = -1;
+        this.contentType = contentType;
+    }
+
+    // region of a channel owned by the caller, never closed here
+    FileRegionDataSource(FileChannel channel, long position, long count, String contentType) {
+        this.path = null;
+        this.channel = channel;
+        this.position = position;
+        this.count = count;
+        this.contentType = contentType;
+    }
+
+    long size() throws IOException {
+        return count >= 0 ? count : Files.size(path);
+    }
+
+    long transferTo(WritableByteChannel target) throws IOException {
+        FileChannel fc = open();
+        try {
+            long size = count >= 0 ? count : fc.size();
+            long done = 0;
+            while (done < size) {
+                long n = fc.transferTo(position + done, size - done, target);
+                if (n > 0) {
+                    done += n;
+                    continue;
+                }
+                // end of file, or a target the transfer makes no progress on
+                if (fc.size() > position + done)
+                    done += copy(fc, position + done, size - done, target);
+                break;
+            }
+            return done;
+        } finally {
+            if (fc != channel)
+                fc.close();
+        }
+    }
+
+    private static long copy(FileChannel fc, long from, long size, WritableByteChannel target)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, 8192));
+        long done = 0;
+        while (done < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - done));
+            int n = fc.read(buffer, from + done);
+            if (n < 0)
+                break;
+            buffer.flip();
+            while (buffer.hasRemaining())
+                target.write(buffer);
+            done += n;
+        }
+        return done;
+    }
+
+    ByteBuffer map() throws IOException, SOAPException {
+        FileChannel fc = open();
+        try {
+            long size = count >= 0 ? count : Math.max(fc.size() - position, 0);
+            // a ByteBuffer holds at most Integer.MAX_VALUE bytes
+            if (size > Integer.MAX_VALUE)
+                throw new SOAPException("Attachment content of " + size + " bytes is too large for a buffer");
+            return fc.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } finally {
+            if (fc != channel)
+                fc.close();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return channel != null ? channel : FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel fc = open();
+        long end = count >= 0 ? position + count : Long.MAX_VALUE;
+        return new RegionInputStream(fc, position, end, fc != channel);
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("Read-only data source");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        Path name = path != null ? path.getFileName() : null;
+        return name != null ? name.toString() : "";
+    }
+
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private final boolean owner;
+        private long pos;
+        private long mark;
+
+        RegionInputStream(FileChannel channel, long start, long end, boolean owner) {
+            this.channel = channel;
+            this.pos = start;
+            this.mark = start;
+            this.end = end;
+            this.owner = owner;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (pos >= end)
+                return -1;
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - pos)), pos);
+            if (n > 0)
+                pos += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, Math.min(end, channel.size()) - pos));
+            pos += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Math.min(end, channel.size()) - pos));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readlimit) {
+            mark = pos;
+        }
+
+        @Override
+        public void reset() {
+            pos = mark;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (owner)
+                channel.close();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -146,6 +146,38 @@ public abstract class MessageFactory {
      * Internalizes the contents of the given {@code InputStream} object into a
      * new {@code SOAPMessage} object and returns the {@code SOAPMessage}
      * object.
+     * <P>
+     * If {@code headers} contains a {@code Content-Encoding} header naming a
+     * content coding supported by {@link ContentEncoding}, the data is
+     * decompressed while it is read, as if {@code in} was wrapped by
+     * {@link ContentEncoding#decode ContentEncoding.decode}.
+     * <P>
+     * If the {@link SOAPMessage.Property#STREAMING_ATTACHMENTS} property of
+     * this {@code MessageFactory} is set, this method returns once the SOAP
+     * part has been read and the attachments are read from {@code in} later,
+     * on demand. The caller must then not close {@code in} before the
+     * attachments of the returned message have been processed.
+     * <P>
+     * If the {@link SOAPMessage.Property#DEFERRED_BODY} property of this
+     * {@code MessageFactory} is set, this method stops parsing after the
+     * start tag of the first body element and the content of the SOAP body
+     * is parsed only when it is first accessed.
+     * <P>
+     * If the {@link SOAPMessage.Property#COMPACT_INFOSET} property of this
+     * {@code MessageFactory} is set, the SOAP part is held as a compact
+     * buffer of infoset events instead of a DOM tree.
+     * <P>
+     * If the {@code Content-Type} of the SOAP part is
+     * {@link SOAPConstants#SOAP_1_1_FAST_INFOSET_CONTENT_TYPE} or
+     * {@link SOAPConstants#SOAP_1_2_FAST_INFOSET_CONTENT_TYPE}, the SOAP
+     * part is decoded from Fast Infoset and the
+     * {@link SOAPMessage.Property#FAST_INFOSET} property of the returned
+     * message is set.
+     * <P>
+     * If the {@code Content-Type} of the SOAP part is
+     * {@link SOAPConstants#XOP_CONTENT_TYPE}, the message is read as an XOP
+     * package and the {@link SOAPMessage.Property#MTOM} property of the
+     * returned message is set.
      *
      * @param in the {@code InputStream} object that contains the data
      *           for a message
@@ -158,7 +190,9 @@ public abstract class MessageFactory {
      * @exception IOException if there is a problem in reading data from
      *            the input stream
      *
-     * @exception SOAPException may be thrown if the message is invalid
+     * @exception SOAPException may be thrown if the message is invalid or if
+     *            the {@code Content-Encoding} header names an unsupported
+     *            content coding
      *
      * @exception IllegalArgumentException if the {@code MessageFactory}
      *      requires one or more MIME headers to be present in the
@@ -171,4 +205,95 @@ public abstract class MessageFactory {
     public abstract SOAPMessage createMessage(MimeHeaders headers,
                                               InputStream in)
         throws IOException, SOAPException;
+
+    /**
+     * Associates the specified value with the specified property of this
+     * {@code MessageFactory}. Properties of a {@code MessageFactory} control
+     * how messages are internalized and are the initial values of the
+     * properties of the {@code SOAPMessage} objects created afterwards.
+     * <p>
+     * The valid property names include the names of the
+     * {@link SOAPMessage.Property} constants. Vendors may also add
+     * implementation specific properties. These properties must be prefixed
+     * with package names that are unique to the vendor.
+     *
+     * @param property
+     *           the property with which the specified value is to be
+     *           associated
+     * @param value
+     *           the value to be associated with the specified property
+     * @exception SOAPException
+     *               if the property name is not recognized
+     * @see SOAPMessage#setProperty(String, Object)
+     * @since 3.1
+     */
+    public void setProperty(String property, Object value) throws SOAPException {
+        throw new UnsupportedOperationException("setProperty must be overridden by all subclasses of MessageFactory");
+    }
+
+    /**
+     * Retrieves value of the specified property of this
+     * {@code MessageFactory}.
+     *
+     * @param property
+     *           the name of the property to retrieve
+     * @return the value associated with the named property or {@code null}
+     *         if no such property exists
+     * @exception SOAPException
+     *               if the property name is not recognized
+     * @since 3.1
+     */
+    public Object getProperty(String property) throws SOAPException {
+        throw new UnsupportedOperationException("getProperty must be overridden by all subclasses of MessageFactory");
+    }
+
+    /**
+     * Associates the specified value with the specified typed property of
+     * this {@code MessageFactory}.
+     * <p>
+     * The default implementation converts {@code Boolean} and numeric values
+     * to their string form and delegates to {@link #setProperty(String, Object)}.
+     *
+     * @param <T> the type of the property value
+     * @param property
+     *           the property with which the specified value is to be
+     *           associated
+     * @param value
+     *           the value to be associated with the specified property, or
+     *           {@code null} to restore the default value of the property
+     * @exception SOAPException
+     *               if the property is not supported by this factory
+     * @see SOAPMessage.PropertyMap
+     * @since 3.1
+     */
+    public <T> void setProperty(SOAPMessage.Property<T> property, T value) throws SOAPException {
+        setProperty(property.getName(), property.toLegacyValue(value));
+    }
+
+    /**
+     * Retrieves the value of the specified typed property of this
+     * {@code MessageFactory}.
+     * <p>
+     * The default implementation delegates to {@link #getProperty(String)} and
+     * converts the result to the type of the property.
+     *
+     * @param <T> the type of the property value
+     * @param property
+     *           the property to retrieve
+     * @return the value associated with the property or the default value of
+     *         the property if no value has been set
+     * @exception SOAPException
+     *               if the property is not supported by this factory or
+     *               its value cannot be converted to the type of the property
+     * @since 3.1
+     */
+    public <T> T getProperty(SOAPMessage.Property<T> property) throws SOAPException {
+        T value;
+        try {
+            value = property.valueOf(getProperty(property.getName()));
+        } catch (IllegalArgumentException e) {
+            throw new SOAPException(e.getMessage(), e);
+        }
+        return value != null ? value : property.getDefaultValue();
+    }
 }
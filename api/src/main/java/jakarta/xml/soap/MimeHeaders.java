@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -37,6 +37,13 @@ public class MimeHeaders {
         headers = new Vector<>();
     }
 
+    // returns an independent copy of this object, MimeHeader objects are immutable
+    MimeHeaders copy() {
+        MimeHeaders copy = new MimeHeaders();
+        copy.headers.addAll(headers);
+        return copy;
+    }
+
     /**
      * Returns all of the values for the specified header as an array of
      * {@code String} objects.
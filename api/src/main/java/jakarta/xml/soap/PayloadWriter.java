@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.w3c.dom.Document;
+
+/**
+ * Writes the payload of a {@code SOAPBody} to an {@code XMLStreamWriter}.
+ * <p>
+ * A {@code PayloadWriter} is registered with
+ * {@link SOAPBody#setPayloadWriter(PayloadWriter)} and called when the
+ * message is written, so the payload is generated directly into the output
+ * instead of being built as a tree of {@code SOAPElement} objects first.
+ * <pre>{@code
+ *     body.setPayloadWriter(writer -> {
+ *         writer.writeStartElement("r", "report", "urn:example:reports");
+ *         writer.writeNamespace("r", "urn:example:reports");
+ *         for (Row row : rows) {
+ *             writer.writeStartElement("r", "row", "urn:example:reports");
+ *             writer.writeCharacters(row.toString());
+ *             writer.writeEndElement();
+ *         }
+ *         writer.writeEndElement();
+ *     });
+ * }</pre>
+ *
+ * @see SOAPBody#setPayloadWriter(PayloadWriter)
+ * @since 3.1
+ */
+@FunctionalInterface
+public interface PayloadWriter {
+
+    /**
+     * Writes the payload. The writer is positioned inside the body element:
+     * one or more payload elements are written with their namespace
+     * declarations, and neither the start or end of the document nor the
+     * body element may be written. Whitespace may separate the payload
+     * elements, other text may not. The writer must not be closed.
+     * <p>
+     * This method may be called more than once, for example each time the
+     * message is written, and must produce the same payload every time.
+     *
+     * @param writer the writer receiving the payload
+     * @exception XMLStreamException if the payload cannot be written
+     */
+    void write(XMLStreamWriter writer) throws XMLStreamException;
+
+    /**
+     * Returns a {@code PayloadWriter} writing the given DOM document. The
+     * document is walked directly onto the {@code XMLStreamWriter}, without
+     * an intermediate serialization; namespace declarations missing from
+     * the document are added. The document must not be modified while the
+     * returned writer is in use.
+     *
+     * @param document the document forming the payload
+     * @return a payload writer writing the document element of
+     *         {@code document}
+     * @see SOAPBody#wrapDocument(Document)
+     */
+    static PayloadWriter of(Document document) {
+        if (document == null)
+            throw new NullPointerException("document");
+        return writer -> {
+            if (document.getDocumentElement() != null)
+                XMLStreams.write(document.getDocumentElement(), writer);
+        };
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,11 +10,27 @@
 
 package jakarta.xml.soap;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 
+import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
 
 import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
 
 /**
  * An object that represents the contents of the SOAP body
@@ -258,6 +274,7 @@ public interface SOAPBody extends SOAPElement {
      *         that was added.
      * @exception SOAPException
      *                if the {@code Document} cannot be added
+     * @see #adoptDocument(Document)
      * @since 1.6, SAAJ 1.2
      */
     public SOAPBodyElement addDocument(org.w3c.dom.Document document)
@@ -276,8 +293,272 @@ public interface SOAPBody extends SOAPElement {
      *            if there is not exactly one child {@code SOAPElement} of the
      *            {@code SOAPBody}.
      *
+     * @see #detachContentAsDocument()
      * @since 1.6, SAAJ 1.3
      */
     public org.w3c.dom.Document extractContentAsDocument()
         throws SOAPException;
+
+    /**
+     * Returns whether the content of this {@code SOAPBody} has been parsed
+     * into {@code SOAPElement} objects. The content of a body whose parsing
+     * has been deferred, as with the
+     * {@link SOAPMessage.Property#DEFERRED_BODY} property, is expanded when
+     * its children are first accessed; calling this method does not expand
+     * it.
+     * <p>
+     * The default implementation returns {@code true}.
+     *
+     * @return {@code true} if the content of this body has been parsed;
+     *         {@code false} if it is still held in serialized form
+     * @since 3.1
+     */
+    public default boolean isExpanded() {
+        return true;
+    }
+
+    /**
+     * Returns the qualified name of the first {@code SOAPBodyElement} of
+     * this {@code SOAPBody}, which usually identifies the operation or the
+     * type of the payload, or {@code null} if the body has no element
+     * children.
+     * <p>
+     * If the parsing of the content of this body has been deferred, as with
+     * the {@link SOAPMessage.Property#DEFERRED_BODY} property,
+     * implementations return the name read from the start tag of the first
+     * body element without expanding the body. The default implementation
+     * returns the name of the first element child.
+     *
+     * @return the name of the first body element or {@code null}
+     * @since 3.1
+     */
+    public default QName getFirstBodyElementName() {
+        for (Iterator<Node> it = getChildElements(); it.hasNext(); ) {
+            Node child = it.next();
+            if (child instanceof SOAPElement)
+                return ((SOAPElement) child).getElementQName();
+        }
+        return null;
+    }
+
+    /**
+     * Returns an {@code XMLStreamReader} over the payload of this
+     * {@code SOAPBody}, positioned at the start tag of its first element
+     * child, or {@code null} if the body has no element children. The
+     * payload can then be passed to a StAX-based unmarshaller.
+     * <p>
+     * Implementations should read the payload from its serialized form, in
+     * particular when the parsing of the body has been deferred as with the
+     * {@link SOAPMessage.Property#DEFERRED_BODY} property, so that no
+     * {@code SOAPElement} objects are built for it. The default
+     * implementation serializes the first element child of this body and
+     * parses the result.
+     *
+     * @return a reader positioned at the first element of the payload, or
+     *         {@code null} if there is no payload
+     * @exception SOAPException if the payload cannot be read
+     * @see #setPayload(XMLStreamReader)
+     * @since 3.1
+     */
+    public default XMLStreamReader getPayloadReader() throws SOAPException {
+        for (Iterator<Node> it = getChildElements(); it.hasNext(); ) {
+            Node child = it.next();
+            if (child instanceof SOAPElement) {
+                XMLStreamReader reader = XMLStreams.reader(new DOMSource(child));
+                try {
+                    reader.nextTag();
+                } catch (XMLStreamException e) {
+                    throw new SOAPException("Unable to read payload", e);
+                }
+                return reader;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the content of this {@code SOAPBody} with the element read
+     * from the given {@code XMLStreamReader}, which must be positioned at
+     * the start of a document or at a start tag. The reader is left
+     * positioned at the end tag of that element and is not closed.
+     * <p>
+     * Implementations should keep the payload in serialized form until it is
+     * accessed through the SAAJ or DOM API, so that content produced by a
+     * StAX-based marshaller is written by {@link SOAPMessage#writeTo} without
+     * building {@code SOAPElement} objects. The default implementation
+     * copies the element into a DOM document and adds it with
+     * {@link #addDocument(Document)}.
+     *
+     * @param reader the reader providing the payload
+     * @exception SOAPException if the payload cannot be read or added
+     * @see #getPayloadReader()
+     * @since 3.1
+     */
+    public default void setPayload(XMLStreamReader reader) throws SOAPException {
+        if (reader == null)
+            throw new NullPointerException("reader");
+        int event = reader.getEventType();
+        if (event != XMLStreamConstants.START_DOCUMENT && event != XMLStreamConstants.START_ELEMENT)
+            throw new SOAPException("Reader is not positioned at a start tag");
+        Document document;
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            document = dbf.newDocumentBuilder().newDocument();
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DOMResult(document));
+            XMLStreams.copy(reader, writer, true);
+            writer.flush();
+        } catch (ParserConfigurationException | XMLStreamException | DOMException e) {
+            throw new SOAPException("Unable to read payload", e);
+        }
+        if (document.getDocumentElement() == null)
+            throw new SOAPException("Reader does not provide an element");
+        removeContents();
+        addDocument(document);
+    }
+
+    /**
+     * Replaces the content of this {@code SOAPBody} with the document
+     * provided by the given {@code Source}. As SOAP messages must not
+     * contain a document type declaration, a source containing one is
+     * rejected and no external entity is resolved.
+     * <p>
+     * The default implementation builds a DOM document from the source and
+     * adds it with {@link #addDocument(Document)}.
+     *
+     * @param source the source providing the payload
+     * @exception SOAPException if the payload cannot be read or added
+     * @see #setPayload(XMLStreamReader)
+     * @since 3.1
+     */
+    public default void setPayload(Source source) throws SOAPException {
+        if (source == null)
+            throw new NullPointerException("source");
+        Document document = XMLStreams.document(source);
+        removeContents();
+        addDocument(document);
+    }
+
+    /**
+     * Replaces the content of this {@code SOAPBody} with a payload that is
+     * generated by the given {@code PayloadWriter} when the message is
+     * written.
+     * <p>
+     * Implementations should call the payload writer from
+     * {@link SOAPMessage#writeTo}, with an {@code XMLStreamWriter} writing
+     * directly to the output, so that a payload of any size is written in
+     * constant memory without building {@code SOAPElement} objects. If the
+     * content of the body is accessed through the SAAJ or DOM API before,
+     * the payload writer is called to build it. The default implementation
+     * calls the payload writer immediately, builds a DOM document from each
+     * top-level element of its output and adds it with
+     * {@link #addDocument(Document)}.
+     *
+     * @param payloadWriter the writer generating the payload
+     * @exception SOAPException if the payload cannot be written or added
+     * @since 3.1
+     */
+    public default void setPayloadWriter(PayloadWriter payloadWriter) throws SOAPException {
+        if (payloadWriter == null)
+            throw new NullPointerException("payloadWriter");
+        List<Document> documents = new ArrayList<>();
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            DocumentBuilder builder = dbf.newDocumentBuilder();
+            DocumentFragment payload = builder.newDocument().createDocumentFragment();
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DOMResult(payload));
+            payloadWriter.write(writer);
+            writer.flush();
+            // every top-level element becomes a body element of its own
+            for (org.w3c.dom.Node child = payload.getFirstChild(); child != null; ) {
+                org.w3c.dom.Node next = child.getNextSibling();
+                if (child.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
+                    Document document = builder.newDocument();
+                    document.appendChild(document.adoptNode(child));
+                    documents.add(document);
+                } else if (child.getNodeType() == org.w3c.dom.Node.TEXT_NODE
+                        && !child.getNodeValue().trim().isEmpty()) {
+                    throw new SOAPException("Payload contains text outside of an element");
+                }
+                child = next;
+            }
+        } catch (ParserConfigurationException | XMLStreamException | DOMException e) {
+            throw new SOAPException("Unable to write payload", e);
+        }
+        removeContents();
+        for (Document document : documents)
+            addDocument(document);
+    }
+
+    /**
+     * Adds the root element of the given DOM {@code Document} to this
+     * {@code SOAPBody} object, taking ownership of the document.
+     * <p>
+     * Unlike {@link #addDocument(Document)}, which is allowed to import a
+     * deep copy of the document, this method lets implementations adopt the
+     * nodes of the document, or wrap them, without copying them. The caller
+     * must not use the document or any of its nodes after calling this
+     * method. The default implementation calls {@code addDocument}.
+     *
+     * @param document the {@code Document} whose root element is added
+     * @return the {@code SOAPBodyElement} that represents the root element
+     *         that was added
+     * @exception SOAPException if the {@code Document} cannot be added
+     * @see #wrapDocument(Document)
+     * @since 3.1
+     */
+    public default SOAPBodyElement adoptDocument(Document document) throws SOAPException {
+        return addDocument(document);
+    }
+
+    /**
+     * Replaces the content of this {@code SOAPBody} with the given DOM
+     * {@code Document}, which is kept as it is and serialized when the
+     * message is written.
+     * <p>
+     * No {@code SOAPElement} objects are created for the document unless
+     * the content of the body is accessed through the SAAJ or DOM API. The
+     * caller must not modify the document afterwards. Implementations
+     * supporting {@link #setPayloadWriter(PayloadWriter)} can register
+     * {@link PayloadWriter#of(Document)}, which writes the document without
+     * copying it. The default implementation removes the content of this
+     * body and adds the document with {@link #addDocument(Document)}.
+     *
+     * @param document the {@code Document} forming the payload
+     * @exception SOAPException if the {@code Document} cannot be set
+     * @see #adoptDocument(Document)
+     * @since 3.1
+     */
+    public default void wrapDocument(Document document) throws SOAPException {
+        if (document == null)
+            throw new NullPointerException("document");
+        removeContents();
+        addDocument(document);
+    }
+
+    /**
+     * Removes the only child {@code SOAPElement} of this {@code SOAPBody}
+     * and returns it as the document element of a DOM
+     * {@link org.w3c.dom.Document}, without copying it.
+     * <p>
+     * Unlike {@link #extractContentAsDocument()}, which may build the
+     * returned document as a deep copy of the child, this method lets
+     * implementations move the nodes of the child into the returned
+     * document, or return a document view over them, at a cost independent
+     * of the size of the content. A document given to
+     * {@link #adoptDocument(Document)} or {@link #wrapDocument(Document)} is
+     * returned as it is, and a payload whose parsing has been deferred is
+     * parsed directly into the returned document. The default implementation
+     * calls {@code extractContentAsDocument}.
+     *
+     * @return the {@link org.w3c.dom.Document} representation of the
+     *         {@code SOAPBody} content
+     * @exception SOAPException if there is not exactly one child
+     *            {@code SOAPElement} of the {@code SOAPBody}
+     * @since 3.1
+     */
+    public default Document detachContentAsDocument() throws SOAPException {
+        return extractContentAsDocument();
+    }
 }
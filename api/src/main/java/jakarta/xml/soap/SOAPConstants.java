@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -108,6 +108,48 @@ public interface SOAPConstants {
     public static final String
         SOAP_1_2_CONTENT_TYPE = "application/soap+xml";
 
+    /**
+     * The media type of the {@code Content-Type} MIME header of a SOAP 1.1
+     * message encoded as Fast Infoset (ITU-T Rec. X.891).
+     * @see SOAPMessage.Property#FAST_INFOSET
+     * @since 3.1
+     */
+    public static final String
+        SOAP_1_1_FAST_INFOSET_CONTENT_TYPE = "application/fastinfoset";
+
+    /**
+     * The media type of the {@code Content-Type} MIME header of a SOAP 1.2
+     * message encoded as Fast Infoset (ITU-T Rec. X.891).
+     * @see SOAPMessage.Property#FAST_INFOSET
+     * @since 3.1
+     */
+    public static final String
+        SOAP_1_2_FAST_INFOSET_CONTENT_TYPE = "application/soap+fastinfoset";
+
+    /**
+     * The media type of the root MIME part of an XOP package, used for
+     * messages optimized with MTOM.
+     * @see SOAPMessage.Property#MTOM
+     * @since 3.1
+     */
+    public static final String
+        XOP_CONTENT_TYPE = "application/xop+xml";
+
+    /**
+     * The namespace identifier of the XML-binary Optimized Packaging (XOP)
+     * {@code Include} element.
+     * @since 3.1
+     */
+    public static final String
+        URI_NS_XOP = "http://www.w3.org/2004/08/xop/include";
+
+    /**
+     * The qualified name of the XOP {@code Include} element, which refers
+     * to the MIME part holding optimized binary data.
+     * @since 3.1
+     */
+    public static final QName XOP_INCLUDE = new QName(URI_NS_XOP, "Include", "xop");
+
     /**
      * The URI identifying the next application processing a SOAP request as the intended
      * actor for a SOAP 1.1 header entry (see section 4.2.2 of the SOAP 1.1 specification).
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,10 +10,17 @@
 
 package jakarta.xml.soap;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 
 import javax.xml.namespace.QName;
 
+import jakarta.activation.DataHandler;
+
 /**
  * An object representing an element of a SOAP message that is allowed but not
  * specifically prescribed by a SOAP specification. This interface serves as the
@@ -507,4 +514,84 @@ public interface SOAPElement extends Node, org.w3c.dom.Element {
      * @see #setEncodingStyle
      */
     public String getEncodingStyle();
+
+    /**
+     * Replaces the content of this {@code SOAPElement} with binary data,
+     * whose lexical form is its Base64 encoding.
+     * <p>
+     * If the {@link SOAPMessage.Property#MTOM} property of the message is
+     * set, implementations keep the data as it is and, when the message is
+     * written, replace the content of this element with an
+     * {@code xop:Include} element referring to a MIME part holding the raw
+     * data, as defined by XOP; the data is never Base64 encoded. Otherwise,
+     * and in the default implementation, the content is replaced with a text
+     * node holding the Base64 encoding of the data.
+     *
+     * @param content the binary data
+     * @exception SOAPException if the content cannot be read or set
+     * @see #getBinaryContent()
+     * @since 3.1
+     */
+    public default void setBinaryContent(DataHandler content) throws SOAPException {
+        if (content == null)
+            throw new NullPointerException("content");
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = Base64Codec.encoder(encoded, 0)) {
+            content.writeTo(out);
+        } catch (IOException e) {
+            throw new SOAPException("Unable to read binary content", e);
+        }
+        removeContents();
+        addTextNode(new String(encoded.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Replaces the content of this {@code SOAPElement} with the remaining
+     * bytes of the given buffer, as binary data. The buffer is not copied
+     * and must not be modified afterwards; its position is not changed.
+     * <p>
+     * The default implementation calls
+     * {@link #setBinaryContent(DataHandler)} with a data handler reading
+     * the buffer.
+     *
+     * @param content the binary data
+     * @param contentType the media type of the data, used as the
+     *        {@code Content-Type} of the MIME part when the data is
+     *        optimized, or {@code null} for {@code application/octet-stream}
+     * @exception SOAPException if the content cannot be set
+     * @since 3.1
+     */
+    public default void setBinaryContent(ByteBuffer content, String contentType) throws SOAPException {
+        if (content == null)
+            throw new NullPointerException("content");
+        setBinaryContent(new DataHandler(new ByteBufferDataSource(content,
+            contentType != null ? contentType : "application/octet-stream")));
+    }
+
+    /**
+     * Returns the binary data held by this {@code SOAPElement}, or
+     * {@code null} if it has no content.
+     * <p>
+     * Implementations return the data set by
+     * {@link #setBinaryContent(DataHandler)} or, for a parsed message, the
+     * raw content of the MIME part referred to by an {@code xop:Include}
+     * child, without decoding it. The default implementation decodes the
+     * text content of this element as Base64.
+     *
+     * @return a {@code DataHandler} for the binary data or {@code null}
+     * @exception SOAPException if the content of this element is not valid
+     *            Base64 data
+     * @since 3.1
+     */
+    public default DataHandler getBinaryContent() throws SOAPException {
+        String text = getTextContent();
+        if (text == null || text.trim().isEmpty())
+            return null;
+        try {
+            ByteBuffer data = Base64Codec.decode(StandardCharsets.US_ASCII.encode(text));
+            return new DataHandler(new ByteBufferDataSource(data, "application/octet-stream"));
+        } catch (IllegalArgumentException e) {
+            throw new SOAPException("Content is not valid Base64 data", e);
+        }
+    }
 }
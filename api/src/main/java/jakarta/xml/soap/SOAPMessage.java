@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,8 +12,17 @@ package jakarta.xml.soap;
 
 import java.io.OutputStream;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
 
+import java.nio.channels.AsynchronousByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 import jakarta.activation.DataHandler;
 
@@ -188,6 +197,10 @@ public abstract class SOAPMessage {
     /**
      * Retrieves all the {@code AttachmentPart} objects that are part of
      * this {@code SOAPMessage} object.
+     * <p>
+     * If this message was created by a {@code MessageFactory} with the
+     * {@link Property#STREAMING_ATTACHMENTS} property set, the attachments are
+     * read from the input stream as the returned iterator is advanced.
      *
      * @return an iterator over all the attachments in this message
      */
@@ -246,6 +259,65 @@ public abstract class SOAPMessage {
      */
     public abstract AttachmentPart getAttachment(SOAPElement element) throws SOAPException;
 
+    /**
+     * Returns the {@code AttachmentPart} object of this message that has the
+     * given {@code Content-ID}, or {@code null} if there is no such
+     * attachment.
+     * <p>
+     * The given identifier is normalized before it is compared: a leading
+     * {@code cid:} scheme is removed together with its URL encoding, as
+     * defined by RFC 2392, and enclosing angle brackets are ignored. The
+     * values {@code <part1@example.com>}, {@code part1@example.com} and
+     * {@code cid:part1@example.com} therefore all identify the same
+     * attachment.
+     * <p>
+     * Implementations are encouraged to maintain an index of the attachments
+     * by their normalized {@code Content-ID} and {@code Content-Location},
+     * updated as attachments are added and removed, so that this method,
+     * {@link #getAttachment(SOAPElement)} and {@link #getAttachments(MimeHeaders)}
+     * do not have to scan all the attachments of the message. The default
+     * implementation performs such a scan.
+     *
+     * @param contentId the {@code Content-ID} of the attachment, with or
+     *        without angle brackets or a {@code cid:} prefix
+     * @return the attachment with the given {@code Content-ID} or
+     *         {@code null} if there is no such attachment
+     * @since 3.1
+     */
+    public AttachmentPart getAttachmentByContentId(String contentId) {
+        if (contentId == null)
+            return null;
+        String id = normalizeContentId(contentId);
+        for (Iterator<AttachmentPart> it = getAttachments(); it.hasNext(); ) {
+            AttachmentPart attachment = it.next();
+            String value = attachment.getContentId();
+            if (value != null && id.equals(normalizeContentId(value)))
+                return attachment;
+        }
+        return null;
+    }
+
+    /**
+     * Normalizes a {@code Content-ID} header value or a {@code cid:} URL
+     * to the bare identifier, as used by {@link #getAttachmentByContentId}.
+     */
+    static String normalizeContentId(String contentId) {
+        String id = contentId.trim();
+        if (id.regionMatches(true, 0, "cid:", 0, 4)) {
+            id = id.substring(4);
+            if (id.indexOf('%') >= 0) {
+                try {
+                    id = URLDecoder.decode(id.replace("+", "%2B"), "UTF-8");
+                } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                    // keep the identifier as it is
+                }
+            }
+        }
+        if (id.length() >= 2 && id.charAt(0) == '<' && id.charAt(id.length() - 1) == '>')
+            id = id.substring(1, id.length() - 1);
+        return id;
+    }
+
 
     /**
      * Adds the given {@code AttachmentPart} object to this {@code SOAPMessage}
@@ -374,6 +446,14 @@ public abstract class SOAPMessage {
      * <P>
      * Note that this method does not write the transport-specific MIME Headers
      * of the Message
+     * <P>
+     * If the {@link Property#CONTENT_ENCODING} property of this message is
+     * set, the output is compressed with the given content coding while it is
+     * written, as if {@code out} was wrapped by
+     * {@link ContentEncoding#encode ContentEncoding.encode}.
+     * <P>
+     * If the content of the SOAP body has not been expanded, as with the
+     * {@link Property#DEFERRED_BODY} property, it is written as it was read.
      *
      * @param out
      *           the {@code OutputStream} object to which this {@code SOAPMessage}
@@ -386,6 +466,130 @@ public abstract class SOAPMessage {
     public abstract void writeTo(OutputStream out)
         throws SOAPException, IOException;
 
+    /**
+     * Asynchronously writes this {@code SOAPMessage} object to the given
+     * channel. The externalization format is the same as the one of
+     * {@link #writeTo(OutputStream)}.
+     * <P>
+     * The returned {@code CompletionStage} completes when the whole message,
+     * including the content of all attachments, has been written to the
+     * channel, or completes exceptionally with an {@code IOException} or a
+     * {@code SOAPException} if the message could not be written. The calling
+     * thread is not blocked: the serialization, including any work that may
+     * block such as reading the content of attachment {@code DataHandler}
+     * objects, is performed by the given {@code executor}. Data is written to
+     * the channel in bounded chunks and no chunk is produced before the
+     * channel has accepted the previous one, so the rate of serialization
+     * follows the rate at which the channel consumes data.
+     * <P>
+     * The channel is not closed when the message has been written. The
+     * message must not be modified until the returned
+     * {@code CompletionStage} has completed.
+     * <P>
+     * The default implementation runs {@link #writeTo(OutputStream)} on the
+     * given {@code executor}, and the executor thread blocks while the
+     * channel writes each chunk. The executor must therefore not run tasks
+     * on the threads of the {@code AsynchronousChannelGroup} of the channel,
+     * which complete these writes. Implementations are encouraged to
+     * override this method and release the executor thread while a write is
+     * pending.
+     *
+     * @param channel
+     *           the {@code AsynchronousByteChannel} to which this
+     *           {@code SOAPMessage} object will be written
+     * @param executor
+     *           the {@code Executor} used to run the serialization
+     * @return a {@code CompletionStage} which completes once the message has
+     *         been written
+     * @exception NullPointerException
+     *               if {@code channel} or {@code executor} is null
+     * @since 3.1
+     */
+    public CompletionStage<Void> writeToAsync(AsynchronousByteChannel channel, Executor executor) {
+        if (channel == null)
+            throw new NullPointerException("channel");
+        if (executor == null)
+            throw new NullPointerException("executor");
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try (OutputStream out = new ChannelOutputStream(channel, 8192)) {
+                    writeTo(out);
+                    out.flush();
+                    result.complete(null);
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes of attachment content of this message that
+     * are currently held in memory.
+     * <p>
+     * The default implementation sums
+     * {@link AttachmentPart#getBytesInMemory()} over all the attachments of
+     * this message.
+     *
+     * @return the number of bytes held in memory or -1 if it cannot be
+     *         determined
+     * @see Property#ATTACHMENT_MEMORY_THRESHOLD
+     * @since 3.1
+     */
+    public long getAttachmentBytesInMemory() {
+        long total = 0;
+        for (Iterator<AttachmentPart> it = getAttachments(); it.hasNext(); ) {
+            long bytes = it.next().getBytesInMemory();
+            if (bytes < 0)
+                return -1;
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of bytes of attachment content of this message that
+     * are currently spooled to temporary files.
+     * <p>
+     * The default implementation sums
+     * {@link AttachmentPart#getBytesOnDisk()} over all the attachments of
+     * this message.
+     *
+     * @return the number of bytes spooled to disk or -1 if it cannot be
+     *         determined
+     * @see Property#ATTACHMENT_MEMORY_THRESHOLD
+     * @since 3.1
+     */
+    public long getAttachmentBytesOnDisk() {
+        long total = 0;
+        for (Iterator<AttachmentPart> it = getAttachments(); it.hasNext(); ) {
+            long bytes = it.next().getBytesOnDisk();
+            if (bytes < 0)
+                return -1;
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Releases the resources held by this message, such as the temporary
+     * files of spooled attachments. The message must not be used after this
+     * method has been called.
+     * <p>
+     * The default implementation calls {@link AttachmentPart#clearContent()}
+     * on every attachment of this message.
+     *
+     * @since 3.1
+     */
+    public void dispose() {
+        for (Iterator<AttachmentPart> it = getAttachments(); it.hasNext(); )
+            it.next().clearContent();
+    }
+
     /**
      * Associates the specified value with the specified property. If there was
      * already a value associated with this property, the old value is
@@ -438,4 +642,533 @@ public abstract class SOAPMessage {
     public Object getProperty(String property) throws SOAPException {
         throw new UnsupportedOperationException("getProperty must be overridden by all subclasses of SOAPMessage");
     }
+
+    /**
+     * Associates the specified value with the specified typed property. If
+     * there was already a value associated with this property, the old value
+     * is replaced. Setting a typed property is equivalent to setting the
+     * string-keyed property of the same {@linkplain Property#getName() name}.
+     * <p>
+     * The default implementation converts {@code Boolean} and numeric values
+     * to their string form and delegates to {@link #setProperty(String, Object)}.
+     * Implementations are expected to override it and store the value in a
+     * {@link PropertyMap}, so that reading a property while the message is
+     * written does not require a lookup by name.
+     *
+     * @param <T> the type of the property value
+     * @param property
+     *           the property with which the specified value is to be
+     *           associated
+     * @param value
+     *           the value to be associated with the specified property, or
+     *           {@code null} to restore the default value of the property
+     * @exception SOAPException
+     *               if the property is not supported by this message
+     * @since 3.1
+     */
+    public <T> void setProperty(Property<T> property, T value) throws SOAPException {
+        setProperty(property.getName(), property.toLegacyValue(value));
+    }
+
+    /**
+     * Retrieves the value of the specified typed property.
+     * <p>
+     * The default implementation delegates to {@link #getProperty(String)} and
+     * converts the result to the type of the property.
+     *
+     * @param <T> the type of the property value
+     * @param property
+     *           the property to retrieve
+     * @return the value associated with the property or the
+     *         {@linkplain Property#getDefaultValue() default value} of the
+     *         property if no value has been set
+     * @exception SOAPException
+     *               if the property is not supported by this message or
+     *               its value cannot be converted to the type of the property
+     * @since 3.1
+     */
+    public <T> T getProperty(Property<T> property) throws SOAPException {
+        T value;
+        try {
+            value = property.valueOf(getProperty(property.getName()));
+        } catch (IllegalArgumentException e) {
+            throw new SOAPException(e.getMessage(), e);
+        }
+        return value != null ? value : property.getDefaultValue();
+    }
+
+    /**
+     * A standard SAAJ property with a value of a known type.
+     * <p>
+     * Every {@code Property} constant has a {@linkplain #getName() name}, which
+     * is the name of the equivalent string-keyed property accepted by
+     * {@link SOAPMessage#setProperty(String, Object)}, and a dense
+     * {@linkplain #ordinal() ordinal} which implementations use to keep
+     * property values in an array rather than in a map keyed by name.
+     *
+     * @param <T> the type of the property value
+     * @see PropertyMap
+     * @since 3.1
+     */
+    public static final class Property<T> {
+
+        private static final List<Property<?>> VALUES = new ArrayList<>();
+
+        /**
+         * Typed form of {@link SOAPMessage#CHARACTER_SET_ENCODING}.
+         */
+        public static final Property<String> CHARACTER_SET_ENCODING =
+            new Property<>(SOAPMessage.CHARACTER_SET_ENCODING, String.class, "utf-8");
+
+        /**
+         * Typed form of {@link SOAPMessage#WRITE_XML_DECLARATION}.
+         */
+        public static final Property<Boolean> WRITE_XML_DECLARATION =
+            new Property<>(SOAPMessage.WRITE_XML_DECLARATION, Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies the content coding applied to the message by
+         * {@link SOAPMessage#writeTo(OutputStream)}. Valid values are the
+         * codings supported by {@link ContentEncoding}, such as
+         * {@code "gzip"} and {@code "deflate"}. When a coding other than
+         * {@code "identity"} is set, {@link SOAPMessage#saveChanges()} sets
+         * the {@code Content-Encoding} MIME header of the message accordingly.
+         * The default is {@code null}, meaning that the message is not
+         * compressed.
+         */
+        public static final Property<String> CONTENT_ENCODING =
+            new Property<>("jakarta.xml.soap.content-encoding", String.class, null);
+
+        /**
+         * Specifies the compression level used for the
+         * {@link #CONTENT_ENCODING} of the message, from {@code 0} to
+         * {@code 9}. The default is {@code -1}, the default level of
+         * {@link java.util.zip.Deflater}.
+         */
+        public static final Property<Integer> COMPRESSION_LEVEL =
+            new Property<>("jakarta.xml.soap.compression-level", Integer.class, -1);
+
+        /**
+         * Specifies the size in bytes of the buffer used to compress and
+         * decompress messages. The default is {@code 8192}.
+         */
+        public static final Property<Integer> COMPRESSION_BUFFER_SIZE =
+            new Property<>("jakarta.xml.soap.compression-buffer-size", Integer.class, 8192);
+
+        /**
+         * Specifies whether a {@code MessageFactory} reads attachments lazily.
+         * This property is set on a {@link MessageFactory} and applies to the
+         * messages it internalizes with
+         * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}.
+         * <p>
+         * When set to {@code true}, {@code createMessage} returns as soon as
+         * the SOAP part has been parsed and the input stream is left
+         * positioned at the first attachment. The iterator returned by
+         * {@link SOAPMessage#getAttachments()} then reads the MIME headers of
+         * each attachment from the stream when it is advanced, and the content
+         * of the current attachment is read from the stream on demand by
+         * {@link AttachmentPart#getRawContent()}. Attachments must be consumed
+         * in the order in which they appear in the message; advancing the
+         * iterator discards the unread content of the current attachment
+         * without buffering it, so a message of any size is processed in
+         * constant memory. The content of an attachment that has been passed
+         * is no longer available. Methods that need all the attachments, such
+         * as {@code countAttachments}, {@code getAttachments(MimeHeaders)} or
+         * {@code writeTo}, read and buffer the remaining attachments. The
+         * input stream must not be closed before the last attachment has
+         * been read. The default is {@code false}.
+         */
+        public static final Property<Boolean> STREAMING_ATTACHMENTS =
+            new Property<>("jakarta.xml.soap.streaming-attachments", Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies the number of bytes of attachment content that may be
+         * held in memory. Content of an attachment exceeding this threshold
+         * is transparently spooled to a temporary file and read back from it
+         * by the methods of {@link AttachmentPart}. The temporary file is
+         * deleted by {@link AttachmentPart#clearContent()} and by
+         * {@link SOAPMessage#dispose()}. This property can be set on a
+         * {@link MessageFactory}, where it applies to the attachments of
+         * internalized messages, and on a {@code SOAPMessage}. The default is
+         * {@code -1}, meaning that attachment content is never spooled.
+         */
+        public static final Property<Long> ATTACHMENT_MEMORY_THRESHOLD =
+            new Property<>("jakarta.xml.soap.attachment-memory-threshold", Long.class, -1L);
+
+        /**
+         * Specifies the directory in which the temporary files of spooled
+         * attachments are created. The default is {@code null}, meaning the
+         * default temporary-file directory given by the system property
+         * {@code java.io.tmpdir}.
+         *
+         * @see #ATTACHMENT_MEMORY_THRESHOLD
+         */
+        public static final Property<String> ATTACHMENT_SPOOL_DIRECTORY =
+            new Property<>("jakarta.xml.soap.attachment-spool-directory", String.class, null);
+
+        /**
+         * Specifies a comma-separated list of {@code MessageDigest}
+         * algorithm names, such as {@code "SHA-256"}, whose digests are
+         * computed over the raw content of every attachment while the
+         * message is parsed or written. The digests are then available from
+         * {@link AttachmentPart#getDigest(String)} without another pass over
+         * the content. The default is {@code null}, meaning no digests are
+         * computed in advance.
+         */
+        public static final Property<String> ATTACHMENT_DIGEST_ALGORITHMS =
+            new Property<>("jakarta.xml.soap.attachment-digest-algorithms", String.class, null);
+
+        /**
+         * Specifies whether a {@code MessageFactory} defers parsing the
+         * content of the SOAP body. This property is set on a
+         * {@link MessageFactory} and applies to the messages it internalizes
+         * with
+         * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}.
+         * <p>
+         * When set to {@code true}, the envelope and the header are parsed
+         * eagerly, while the content of the body is kept in its serialized
+         * form. Parsing stops after the start tag of the first body element,
+         * whose name is available from
+         * {@link SOAPBody#getFirstBodyElementName()}; the remaining input is
+         * buffered or, for messages without attachments, left in the input
+         * stream. The content is parsed into {@code SOAPElement} objects only
+         * when the children of the {@link SOAPBody} are first accessed,
+         * through any of its methods or the DOM API. Until then,
+         * {@link SOAPBody#isExpanded()} returns {@code false} and
+         * {@link SOAPMessage#writeTo(java.io.OutputStream)} copies the
+         * serialized body to the output unchanged, so a message that is only
+         * routed on the basis of its header and the name of its payload is
+         * processed in a time independent of the size of the body. If the
+         * remaining input is left in the input stream, the stream must not be
+         * closed before the message has been written or its body expanded.
+         * The default is {@code false}.
+         */
+        public static final Property<Boolean> DEFERRED_BODY =
+            new Property<>("jakarta.xml.soap.deferred-body", Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies whether a {@code MessageFactory} holds the SOAP part of
+         * the messages it creates in a compact representation. This property
+         * is set on a {@link MessageFactory} and applies to the messages it
+         * creates.
+         * <p>
+         * When set to {@code true}, implementations keep the content of the
+         * SOAP part as a replayable buffer of infoset events, with names
+         * stored once in a shared name table and character data in shared
+         * arrays, instead of a DOM tree. The {@code SOAPElement} and DOM
+         * objects returned by the navigation methods are lightweight facades
+         * created on demand, so a message that is mostly read, or only
+         * written again, uses a fraction of the memory of a DOM tree. As a
+         * consequence, the same node may be represented by different objects
+         * over time: nodes must be compared with
+         * {@link org.w3c.dom.Node#isSameNode(org.w3c.dom.Node)} rather than
+         * by identity. Modifying the content may convert it, in part or as a
+         * whole, to the regular representation. The default is
+         * {@code false}.
+         */
+        public static final Property<Boolean> COMPACT_INFOSET =
+            new Property<>("jakarta.xml.soap.compact-infoset", Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies whether the SOAP part of a message is encoded as Fast
+         * Infoset (ITU-T Rec. X.891), a binary encoding of the XML infoset
+         * that is faster to write and to parse than textual XML.
+         * <p>
+         * When set to {@code true} on a message, {@code saveChanges} sets
+         * the media type of the SOAP part to
+         * {@link SOAPConstants#SOAP_1_1_FAST_INFOSET_CONTENT_TYPE} or
+         * {@link SOAPConstants#SOAP_1_2_FAST_INFOSET_CONTENT_TYPE}, depending
+         * on the SOAP version, and {@code writeTo} writes the SOAP part in
+         * the binary encoding. The property is meant for links between
+         * endpoints known to support the encoding; it should be left unset
+         * for other endpoints. A message created by
+         * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}
+         * from Fast Infoset input has this property set, so it is written
+         * back in the encoding it was received in. Implementations that do
+         * not support Fast Infoset throw a {@code SOAPException} when the
+         * property is set to {@code true}. The default is {@code false}.
+         */
+        public static final Property<Boolean> FAST_INFOSET =
+            new Property<>("jakarta.xml.soap.fast-infoset", Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies whether the binary content of a message is optimized as
+         * defined by the SOAP Message Transmission Optimization Mechanism
+         * (MTOM) and XML-binary Optimized Packaging (XOP).
+         * <p>
+         * When set to {@code true}, {@code writeTo} writes the message as an
+         * XOP package: a {@code multipart/related} stream whose root part,
+         * of type {@link SOAPConstants#XOP_CONTENT_TYPE}, holds the envelope,
+         * in which the binary content set by
+         * {@link SOAPElement#setBinaryContent(jakarta.activation.DataHandler)}
+         * and at least {@link #MTOM_THRESHOLD} bytes long is replaced by
+         * {@link SOAPConstants#XOP_INCLUDE} elements referring to additional
+         * MIME parts holding the raw data. A message created by
+         * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}
+         * from an XOP package has this property set, and the raw data of its
+         * {@code xop:Include} elements is available from
+         * {@link SOAPElement#getBinaryContent()} without Base64 decoding.
+         * The default is {@code false}.
+         */
+        public static final Property<Boolean> MTOM =
+            new Property<>("jakarta.xml.soap.mtom", Boolean.class, Boolean.FALSE);
+
+        /**
+         * Specifies the minimum size, in bytes, of binary content optimized
+         * when the {@link #MTOM} property is set. Smaller content is written
+         * inline as Base64 text, as the overhead of a MIME part outweighs
+         * the saving. The default is {@code 0}, meaning all binary content is
+         * optimized.
+         */
+        public static final Property<Integer> MTOM_THRESHOLD =
+            new Property<>("jakarta.xml.soap.mtom-threshold", Integer.class, 0);
+
+        private final String name;
+        private final Class<T> type;
+        private final T defaultValue;
+        private final int ordinal;
+
+        private Property(String name, Class<T> type, T defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+            this.ordinal = VALUES.size();
+            VALUES.add(this);
+        }
+
+        /**
+         * Returns all standard typed properties, in ordinal order.
+         *
+         * @return an unmodifiable list of all {@code Property} constants
+         */
+        public static List<Property<?>> values() {
+            return Collections.unmodifiableList(VALUES);
+        }
+
+        /**
+         * Returns the typed property with the given name.
+         *
+         * @param name the name of the property
+         * @return the {@code Property} with the given name or {@code null}
+         *         if the name does not denote a standard typed property
+         */
+        public static Property<?> forName(String name) {
+            for (Property<?> property : VALUES) {
+                if (property.name.equals(name))
+                    return property;
+            }
+            return null;
+        }
+
+        /**
+         * Returns the name of this property.
+         *
+         * @return the name of the equivalent string-keyed property
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the type of the values of this property.
+         *
+         * @return the type of the values of this property
+         */
+        public Class<T> getType() {
+            return type;
+        }
+
+        /**
+         * Returns the value of this property when no value has been set.
+         *
+         * @return the default value of this property, may be {@code null}
+         */
+        public T getDefaultValue() {
+            return defaultValue;
+        }
+
+        /**
+         * Returns the position of this property in {@link #values()}.
+         *
+         * @return the ordinal of this property
+         */
+        public int ordinal() {
+            return ordinal;
+        }
+
+        /**
+         * Converts a value given to the string-keyed property API to the type
+         * of this property. Strings are parsed for {@code Boolean},
+         * {@code Integer} and {@code Long} properties, where only
+         * {@code "true"} and {@code "false"}, ignoring case, are valid
+         * {@code Boolean} values. A {@code Byte}, {@code Short},
+         * {@code Integer} or {@code Long} value is converted to the type of
+         * an {@code Integer} or {@code Long} property if it fits.
+         *
+         * @param value the value to convert, may be {@code null}
+         * @return the converted value or {@code null} if {@code value} is
+         *         {@code null}
+         * @exception IllegalArgumentException if the value cannot be
+         *            converted to the type of this property
+         */
+        public T valueOf(Object value) {
+            if (value == null || type.isInstance(value))
+                return type.cast(value);
+            if (isIntegral(value) && (type == Integer.class || type == Long.class)) {
+                long n = ((Number) value).longValue();
+                if (type == Long.class)
+                    return type.cast(n);
+                if (n == (int) n)
+                    return type.cast((int) n);
+            }
+            if (value instanceof String) {
+                String s = ((String) value).trim();
+                try {
+                    if (type == Boolean.class && ("true".equalsIgnoreCase(s) || "false".equalsIgnoreCase(s)))
+                        return type.cast(Boolean.valueOf(s));
+                    if (type == Integer.class)
+                        return type.cast(Integer.valueOf(s));
+                    if (type == Long.class)
+                        return type.cast(Long.valueOf(s));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value of property " + name + ": " + value, e);
+                }
+            }
+            throw new IllegalArgumentException("Invalid value of property " + name + ": " + value);
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte;
+        }
+
+        Object toLegacyValue(T value) {
+            if (value instanceof Boolean || value instanceof Number)
+                return value.toString();
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A table of values of typed properties, indexed by
+     * {@linkplain Property#ordinal() property ordinal}.
+     * <p>
+     * This class is meant to be used by SAAJ implementations to back both the
+     * typed and the string-keyed property methods of {@code SOAPMessage} and
+     * {@code MessageFactory}. Reading a typed property is an array access.
+     * A {@code PropertyMap} is not thread-safe.
+     *
+     * @since 3.1
+     */
+    public static final class PropertyMap {
+
+        private final Object[] values = new Object[Property.VALUES.size()];
+
+        /**
+         * Creates an empty {@code PropertyMap}; every property has its
+         * default value.
+         */
+        public PropertyMap() {
+        }
+
+        /**
+         * Creates a {@code PropertyMap} holding the same values as the given
+         * map.
+         *
+         * @param other the map to copy
+         */
+        public PropertyMap(PropertyMap other) {
+            System.arraycopy(other.values, 0, values, 0, values.length);
+        }
+
+        /**
+         * Returns the value of the given property.
+         *
+         * @param <T> the type of the property value
+         * @param property the property to retrieve
+         * @return the value of the property, or its default value if no
+         *         value has been set
+         */
+        public <T> T get(Property<T> property) {
+            @SuppressWarnings("unchecked")
+            T value = (T) values[property.ordinal];
+            return value != null ? value : property.defaultValue;
+        }
+
+        /**
+         * Sets the value of the given property.
+         *
+         * @param <T> the type of the property value
+         * @param property the property to set
+         * @param value the new value, or {@code null} to restore the
+         *        default value
+         */
+        public <T> void set(Property<T> property, T value) {
+            values[property.ordinal] = value;
+        }
+
+        /**
+         * Indicates whether a value has been set for the given property.
+         *
+         * @param property the property to check
+         * @return {@code true} if a value is set; {@code false} if the
+         *         property has its default value
+         */
+        public boolean isSet(Property<?> property) {
+            return values[property.ordinal] != null;
+        }
+
+        /**
+         * Returns the value of the property with the given name, for use by
+         * {@link SOAPMessage#getProperty(String)}. As with the string-keyed
+         * property API, the values of {@code Boolean}, {@code Integer} and
+         * {@code Long} properties are returned as strings.
+         *
+         * @param name the name of the property
+         * @return the value of the property or {@code null} if no value has
+         *         been set
+         * @exception SOAPException if the name does not denote a standard
+         *            typed property
+         */
+        public Object get(String name) throws SOAPException {
+            Property<?> property = lookup(name);
+            return legacyValue(property, values[property.ordinal]);
+        }
+
+        /**
+         * Sets the value of the property with the given name, for use by
+         * {@link SOAPMessage#setProperty(String, Object)}. The value is
+         * converted to the type of the property.
+         *
+         * @param name the name of the property
+         * @param value the new value of the property, may be {@code null}
+         * @exception SOAPException if the name does not denote a standard
+         *            typed property or the value cannot be converted to
+         *            its type
+         */
+        public void set(String name, Object value) throws SOAPException {
+            Property<?> property = lookup(name);
+            try {
+                values[property.ordinal] = property.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new SOAPException(e.getMessage(), e);
+            }
+        }
+
+        private static <T> Object legacyValue(Property<T> property, Object value) {
+            return property.toLegacyValue(property.type.cast(value));
+        }
+
+        private static Property<?> lookup(String name) throws SOAPException {
+            Property<?> property = Property.forName(name);
+            if (property == null)
+                throw new SOAPException("Unrecognized property: " + name);
+            return property;
+        }
+    }
 }
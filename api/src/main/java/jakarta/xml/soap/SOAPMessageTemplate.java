@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+/**
+ * A pre-serialized form of a {@code SOAPMessage} with a fixed set of
+ * fill-in slots.
+ * <p>
+ * A {@code SOAPMessageTemplate} is created from a prototype message. The
+ * application declares the parts of the prototype that vary from one message
+ * to the next: the text content of a {@code SOAPElement}, the value of an
+ * attribute of a {@code SOAPElement} or the value of a transport-specific MIME
+ * header. When the template is compiled, the prototype is serialized exactly
+ * once and the byte ranges occupied by the slots are recorded. Each
+ * {@link Instance} of the template is then rendered by splicing the escaped and
+ * encoded slot values between the captured bytes, without building a DOM tree
+ * and without running the XML serializer again.
+ * <pre>{@code
+ *     SOAPMessageTemplate template = new SOAPMessageTemplate(prototype);
+ *     SOAPMessageTemplate.Slot id = template.addTextSlot(idElement);
+ *     SOAPMessageTemplate.Slot action = template.addMimeHeaderSlot("SOAPAction");
+ *     template.compile();
+ *
+ *     SOAPMessageTemplate.Instance msg = template.newInstance();
+ *     msg.setValue(id, "42");
+ *     msg.setValue(action, "\"urn:lookup\"");
+ *     msg.writeTo(out);
+ * }</pre>
+ * <p>
+ * The prototype is modified temporarily while the template is compiled and is
+ * restored afterwards. It must not be used concurrently during
+ * {@link #compile()}. Once compiled, a template is immutable and can be shared
+ * between threads; {@code Instance} objects are not thread-safe.
+ *
+ * @see SOAPMessage#writeTo(OutputStream)
+ * @since 3.1
+ */
+public final class SOAPMessageTemplate {
+
+    private static final int TEXT = 0;
+    private static final int ATTRIBUTE = 1;
+    private static final int MIME_HEADER = 2;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SOAPMessage prototype;
+    private final List<Slot> slots = new ArrayList<>();
+
+    // captured state, published as a whole by compile()
+    private volatile Compiled compiled;
+
+    /**
+     * The state captured by {@link #compile()}. It is never modified once
+     * created, and the volatile {@code compiled} field publishes it safely to
+     * the threads sharing the template.
+     */
+    private static final class Compiled {
+        final Slot[] slots;
+        final byte[] bytes;
+        final int[] offsets;
+        final int[] lengths;
+        final Slot[] order;
+        final String[] defaults;
+        final Charset charset;
+        final MimeHeaders headers;
+
+        Compiled(Slot[] slots, byte[] bytes, int[] offsets, int[] lengths, Slot[] order,
+                 String[] defaults, Charset charset, MimeHeaders headers) {
+            this.slots = slots;
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.order = order;
+            this.defaults = defaults;
+            this.charset = charset;
+            this.headers = headers;
+        }
+    }
+
+    /**
+     * A named place in a {@code SOAPMessageTemplate} whose value is supplied
+     * separately for every {@code Instance}.
+     *
+     * @since 3.1
+     */
+    public static final class Slot {
+        private final SOAPMessageTemplate template;
+        private final int kind;
+        private final int index;
+        private final SOAPElement element;
+        private final QName attribute;
+        private final String headerName;
+
+        private Slot(SOAPMessageTemplate template, int kind, int index,
+                     SOAPElement element, QName attribute, String headerName) {
+            this.template = template;
+            this.kind = kind;
+            this.index = index;
+            this.element = element;
+            this.attribute = attribute;
+            this.headerName = headerName;
+        }
+
+        /**
+         * Returns the value of this slot in the prototype message. This value
+         * is used by every {@code Instance} for which no value has been set.
+         *
+         * @return the prototype value of this slot or {@code null} if this
+         *         slot represents a MIME header that is not present in the
+         *         prototype, or if the template is not compiled
+         */
+        public String getDefaultValue() {
+            Compiled c = template.compiled;
+            return c == null ? null : c.defaults[index];
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case TEXT:
+                    return "text(" + element.getElementQName() + ")";
+                case ATTRIBUTE:
+                    return "attribute(" + element.getElementQName() + "@" + attribute + ")";
+                default:
+                    return "header(" + headerName + ")";
+            }
+        }
+    }
+
+    /**
+     * Creates a new template for the given prototype message. The prototype
+     * is not serialized until {@link #compile()} is called.
+     *
+     * @param prototype the message providing the envelope, headers,
+     *        namespace declarations and attachments shared by all instances
+     *        of this template
+     * @exception NullPointerException if {@code prototype} is null
+     */
+    public SOAPMessageTemplate(SOAPMessage prototype) {
+        if (prototype == null)
+            throw new NullPointerException("prototype");
+        this.prototype = prototype;
+    }
+
+    /**
+     * Declares a slot replacing the whole content of the given element with
+     * a text value.
+     *
+     * @param element an element of the prototype message
+     * @return the new slot
+     * @exception IllegalStateException if this template is already compiled
+     */
+    public Slot addTextSlot(SOAPElement element) {
+        if (element == null)
+            throw new NullPointerException("element");
+        return addSlot(TEXT, element, null, null);
+    }
+
+    /**
+     * Declares a slot for the value of an attribute of the given element.
+     *
+     * @param element an element of the prototype message
+     * @param attribute the qualified name of the attribute
+     * @return the new slot
+     * @exception IllegalStateException if this template is already compiled
+     */
+    public Slot addAttributeSlot(SOAPElement element, QName attribute) {
+        if (element == null)
+            throw new NullPointerException("element");
+        if (attribute == null)
+            throw new NullPointerException("attribute");
+        return addSlot(ATTRIBUTE, element, attribute, null);
+    }
+
+    /**
+     * Declares a slot for the value of a transport-specific MIME header of
+     * the message, as returned by {@link SOAPMessage#getMimeHeaders()}.
+     *
+     * @param name the name of the MIME header
+     * @return the new slot
+     * @exception IllegalStateException if this template is already compiled
+     * @exception IllegalArgumentException if {@code name} is null or empty
+     */
+    public Slot addMimeHeaderSlot(String name) {
+        if ((name == null) || name.equals(""))
+            throw new IllegalArgumentException("Illegal MimeHeader name");
+        return addSlot(MIME_HEADER, null, null, name);
+    }
+
+    private Slot addSlot(int kind, SOAPElement element, QName attribute, String headerName) {
+        if (compiled != null)
+            throw new IllegalStateException("Template is already compiled");
+        Slot slot = new Slot(this, kind, slots.size(), element, attribute, headerName);
+        slots.add(slot);
+        return slot;
+    }
+
+    /**
+     * Indicates whether this template has been compiled.
+     *
+     * @return {@code true} if {@link #compile()} has completed successfully;
+     *         {@code false} otherwise
+     */
+    public boolean isCompiled() {
+        return compiled != null;
+    }
+
+    /**
+     * Serializes the prototype message and records the position of every
+     * declared slot. The prototype is restored to its original content before
+     * this method returns.
+     *
+     * @exception SOAPException if the prototype cannot be serialized or if a
+     *            slot cannot be located unambiguously in its serialized form
+     * @exception IOException if an I/O error occurs while serializing the
+     *            prototype
+     * @exception IllegalStateException if this template is already compiled
+     */
+    public void compile() throws SOAPException, IOException {
+        if (compiled != null)
+            throw new IllegalStateException("Template is already compiled");
+
+        String nonce = Long.toHexString(RANDOM.nextLong() & Long.MAX_VALUE);
+        String[] markers = new String[slots.size()];
+        String[] defaults = new String[slots.size()];
+        List<org.w3c.dom.Node[]> savedContent = new ArrayList<>();
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        MimeHeaders headers;
+        try {
+            for (Slot slot : slots) {
+                String marker = "saajslot" + nonce + "n" + slot.index + "x";
+                markers[slot.index] = marker;
+                switch (slot.kind) {
+                    case TEXT:
+                        defaults[slot.index] = slot.element.getTextContent();
+                        savedContent.add(detachChildren(slot.element));
+                        slot.element.addTextNode(marker);
+                        break;
+                    case ATTRIBUTE:
+                        defaults[slot.index] = slot.element.getAttributeValue(slot.attribute);
+                        savedContent.add(null);
+                        slot.element.addAttribute(slot.attribute, marker);
+                        break;
+                    default:
+                        savedContent.add(null);
+                }
+            }
+            prototype.saveChanges();
+            prototype.writeTo(captured);
+            headers = prototype.getMimeHeaders().copy();
+        } finally {
+            restore(savedContent, defaults);
+        }
+
+        for (Slot slot : slots) {
+            if (slot.kind == MIME_HEADER) {
+                String[] values = headers.getHeader(slot.headerName);
+                defaults[slot.index] = values == null ? null : values[0];
+            } else if (slot.kind == ATTRIBUTE && defaults[slot.index] == null) {
+                defaults[slot.index] = "";
+            }
+        }
+
+        Charset charset = detectCharset(captured);
+        compiled = locateSlots(captured.toByteArray(), markers, defaults, charset, headers);
+    }
+
+    /**
+     * Creates a new instance of this template. All slots of the new instance
+     * hold their default values.
+     *
+     * @return a new {@code Instance} of this template
+     * @exception IllegalStateException if this template has not been compiled
+     */
+    public Instance newInstance() {
+        Compiled c = compiled;
+        if (c == null)
+            throw new IllegalStateException("Template is not compiled");
+        return new Instance(c);
+    }
+
+    /**
+     * A single message rendered from a {@code SOAPMessageTemplate}.
+     *
+     * @since 3.1
+     */
+    public final class Instance {
+        private final Compiled compiled;
+        private final String[] values;
+
+        private Instance(Compiled compiled) {
+            this.compiled = compiled;
+            this.values = new String[compiled.slots.length];
+        }
+
+        /**
+         * Sets the value of the given slot for this instance. The value is
+         * escaped as required by the XML context of the slot.
+         *
+         * @param slot a slot of the template that created this instance
+         * @param value the value of the slot, or {@code null} to restore the
+         *        default value of the slot
+         * @return this instance
+         * @exception IllegalArgumentException if {@code slot} belongs to
+         *            another template
+         */
+        public Instance setValue(Slot slot, String value) {
+            if (slot.template != SOAPMessageTemplate.this)
+                throw new IllegalArgumentException("Slot belongs to another template");
+            values[slot.index] = value;
+            return this;
+        }
+
+        /**
+         * Returns the value of the given slot for this instance.
+         *
+         * @param slot a slot of the template that created this instance
+         * @return the value of the slot
+         * @exception IllegalArgumentException if {@code slot} belongs to
+         *            another template
+         */
+        public String getValue(Slot slot) {
+            if (slot.template != SOAPMessageTemplate.this)
+                throw new IllegalArgumentException("Slot belongs to another template");
+            String value = values[slot.index];
+            return value != null ? value : compiled.defaults[slot.index];
+        }
+
+        /**
+         * Returns the transport-specific MIME headers of this instance. The
+         * returned object is a copy which the caller may modify freely.
+         *
+         * @return a {@code MimeHeaders} object containing the headers captured
+         *         from the prototype with all MIME header slots applied
+         */
+        public MimeHeaders getMimeHeaders() {
+            MimeHeaders result = compiled.headers.copy();
+            for (Slot slot : compiled.slots) {
+                if (slot.kind != MIME_HEADER)
+                    continue;
+                String value = getValue(slot);
+                if (value == null)
+                    result.removeHeader(slot.headerName);
+                else
+                    result.setHeader(slot.headerName, value);
+            }
+            if (result.getHeader("Content-Length") != null)
+                result.setHeader("Content-Length", Long.toString(getContentLength()));
+            return result;
+        }
+
+        /**
+         * Writes this instance to the given output stream in the same
+         * externalization format as {@link SOAPMessage#writeTo(OutputStream)}.
+         *
+         * @param out the {@code OutputStream} to which this instance will be
+         *        written
+         * @exception IOException if an I/O error occurs
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            byte[] bytes = compiled.bytes;
+            Slot[] order = compiled.order;
+            int position = 0;
+            for (int i = 0; i < order.length; i++) {
+                out.write(bytes, position, compiled.offsets[i] - position);
+                out.write(encode(order[i], getValue(order[i]), compiled.charset));
+                position = compiled.offsets[i] + compiled.lengths[i];
+            }
+            out.write(bytes, position, bytes.length - position);
+        }
+
+        private long getContentLength() {
+            Slot[] order = compiled.order;
+            long size = compiled.bytes.length;
+            for (int i = 0; i < order.length; i++)
+                size += encode(order[i], getValue(order[i]), compiled.charset).length - compiled.lengths[i];
+            return size;
+        }
+    }
+
+    private Compiled locateSlots(byte[] serialized, String[] markers, String[] defaults,
+                                 Charset charset, MimeHeaders headers) throws SOAPException {
+        List<Slot> found = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot.kind == MIME_HEADER)
+                continue;
+            byte[] marker = markers[slot.index].getBytes(charset);
+            int at = indexOf(serialized, marker, 0);
+            if (at < 0)
+                throw new SOAPException("Unable to locate " + slot + " in the serialized prototype");
+            if (indexOf(serialized, marker, at + 1) >= 0)
+                throw new SOAPException("Ambiguous " + slot + " in the serialized prototype");
+            int i = 0;
+            while (i < positions.size() && positions.get(i) < at)
+                i++;
+            found.add(i, slot);
+            positions.add(i, at);
+            sizes.add(i, marker.length);
+        }
+        Slot[] order = found.toArray(new Slot[0]);
+        int[] offsets = new int[order.length];
+        int[] lengths = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            offsets[i] = positions.get(i);
+            lengths[i] = sizes.get(i);
+        }
+        return new Compiled(slots.toArray(new Slot[0]), serialized, offsets, lengths, order,
+            defaults, charset, headers);
+    }
+
+    private static byte[] encode(Slot slot, String value, Charset charset) {
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        // encoders are stateful, one is created per call so that a compiled
+        // template can be shared between threads
+        CharsetEncoder encoder = null;
+        for (int i = 0; i < value.length(); ) {
+            int cp = value.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            switch (cp) {
+                case '&': sb.append("&amp;"); break;
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '"': sb.append(slot.kind == ATTRIBUTE ? "&quot;" : "\""); break;
+                case '\'': sb.append(slot.kind == ATTRIBUTE ? "&apos;" : "'"); break;
+                case '\r': sb.append("&#13;"); break;
+                case '\t':
+                case '\n':
+                    if (slot.kind == ATTRIBUTE)
+                        sb.append("&#").append(cp).append(';');
+                    else
+                        sb.appendCodePoint(cp);
+                    break;
+                default:
+                    if (cp >= 0x80 && encoder == null)
+                        encoder = charset.newEncoder();
+                    if (cp < 0x80 || encoder.canEncode(value.substring(i, next)))
+                        sb.appendCodePoint(cp);
+                    else
+                        sb.append("&#x").append(Integer.toHexString(cp)).append(';');
+            }
+            i = next;
+        }
+        return sb.toString().getBytes(charset);
+    }
+
+    private Charset detectCharset(ByteArrayOutputStream captured) {
+        Object encoding = null;
+        try {
+            encoding = prototype.getProperty(SOAPMessage.CHARACTER_SET_ENCODING);
+        } catch (SOAPException | UnsupportedOperationException e) {
+            // legacy implementation, utf-8 is the default
+        }
+        if (encoding == null)
+            return StandardCharsets.UTF_8;
+        Charset cs = Charset.forName(encoding.toString());
+        if (cs.equals(StandardCharsets.UTF_16)) {
+            byte[] data = captured.toByteArray();
+            if (data.length > 1 && (data[0] & 0xff) == 0xff && (data[1] & 0xff) == 0xfe)
+                return StandardCharsets.UTF_16LE;
+            return StandardCharsets.UTF_16BE;
+        }
+        return cs;
+    }
+
+    private void restore(List<org.w3c.dom.Node[]> savedContent, String[] defaults) throws SOAPException {
+        for (int i = 0; i < savedContent.size(); i++) {
+            Slot slot = slots.get(i);
+            switch (slot.kind) {
+                case TEXT:
+                    slot.element.removeContents();
+                    for (org.w3c.dom.Node child : savedContent.get(i))
+                        slot.element.appendChild(child);
+                    break;
+                case ATTRIBUTE:
+                    if (defaults[i] == null)
+                        slot.element.removeAttribute(slot.attribute);
+                    else
+                        slot.element.addAttribute(slot.attribute, defaults[i]);
+                    break;
+                default:
+            }
+        }
+        if (prototype.saveRequired())
+            prototype.saveChanges();
+    }
+
+    private static org.w3c.dom.Node[] detachChildren(SOAPElement element) {
+        List<org.w3c.dom.Node> children = new ArrayList<>();
+        for (org.w3c.dom.Node child = element.getFirstChild(); child != null; ) {
+            org.w3c.dom.Node next = child.getNextSibling();
+            children.add(element.removeChild(child));
+            child = next;
+        }
+        return children.toArray(new org.w3c.dom.Node[0]);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++)
+                if (data[i + j] != pattern[j])
+                    continue outer;
+            return i;
+        }
+        return -1;
+    }
+}
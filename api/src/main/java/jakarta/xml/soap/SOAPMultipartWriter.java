@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * Writes a SOAP message with attachments incrementally, as a
+ * {@code multipart/related} MIME stream as defined by the SOAP Messages with
+ * Attachments specification.
+ * <p>
+ * Unlike {@link SOAPMessage#writeTo(OutputStream)}, which requires all
+ * attachments to be present in the message before it is written, a
+ * {@code SOAPMultipartWriter} writes the SOAP part first and then appends
+ * attachments one at a time, reading their content from an
+ * {@code InputStream} or a {@code ReadableByteChannel} as they are produced.
+ * Content is copied through a single fixed-size buffer, so the memory used is
+ * bounded regardless of the number and the size of the attachments.
+ * <pre>{@code
+ *     SOAPMultipartWriter writer = new SOAPMultipartWriter(message, out);
+ *     MimeHeaders transportHeaders = writer.getMimeHeaders();
+ *     // ... send transportHeaders ...
+ *     writer.writeSOAPPart();
+ *     for (Report report : reports) {
+ *         MimeHeaders headers = new MimeHeaders();
+ *         headers.addHeader("Content-Type", "application/pdf");
+ *         headers.addHeader("Content-ID", report.getContentId());
+ *         writer.writeAttachment(headers, report.openStream());
+ *     }
+ *     writer.finish();
+ * }</pre>
+ * <p>
+ * The boundary is generated from a random {@code UUID}; the content of the
+ * attachments is not checked for occurrences of the boundary.
+ * A {@code SOAPMultipartWriter} is not thread-safe.
+ *
+ * @see SOAPMessage#writeTo(OutputStream)
+ * @since 3.1
+ */
+public class SOAPMultipartWriter implements Closeable {
+
+    private static final byte[] CRLF = { '\r', '\n' };
+    private static final byte[] DASHES = { '-', '-' };
+
+    private static final int INITIAL = 0;
+    private static final int PARTS = 1;
+    private static final int FINISHED = 2;
+
+    private final SOAPMessage message;
+    private final OutputStream out;
+    private final String boundary;
+    private final String rootContentId;
+    private final String soapContentType;
+    private final String charset;
+    private final byte[] buffer = new byte[8192];
+    private int state = INITIAL;
+
+    /**
+     * Creates a writer for the given message.
+     * <p>
+     * The message provides the SOAP part of the output. It must not contain
+     * attachments, and its {@link SOAPMessage.Property#CONTENT_ENCODING},
+     * {@link SOAPMessage.Property#FAST_INFOSET} and
+     * {@link SOAPMessage.Property#MTOM} properties must not be set, as they
+     * change the serialization of the whole message; wrap {@code out} with
+     * {@link ContentEncoding#encode ContentEncoding.encode} to compress the
+     * whole multipart stream instead.
+     *
+     * @param message the message providing the SOAP part
+     * @param out the stream to which the multipart message is written
+     * @exception SOAPException if one of these properties is set or the SOAP
+     *            version of the message cannot be determined
+     */
+    public SOAPMultipartWriter(SOAPMessage message, OutputStream out) throws SOAPException {
+        if (message == null)
+            throw new NullPointerException("message");
+        if (out == null)
+            throw new NullPointerException("out");
+        String coding = property(message, SOAPMessage.Property.CONTENT_ENCODING);
+        if (coding != null && !"identity".equalsIgnoreCase(coding))
+            throw new SOAPException("Content encoding " + coding + " cannot be applied to the SOAP part only");
+        if (Boolean.TRUE.equals(property(message, SOAPMessage.Property.FAST_INFOSET)))
+            throw new SOAPException("Fast Infoset messages cannot be written as multipart parts");
+        if (Boolean.TRUE.equals(property(message, SOAPMessage.Property.MTOM)))
+            throw new SOAPException("MTOM messages cannot be written as multipart parts");
+        this.message = message;
+        this.out = out;
+        String uuid = UUID.randomUUID().toString();
+        this.boundary = "uuid:" + uuid;
+        this.rootContentId = "<rootpart*" + uuid + "@jakarta.xml.soap>";
+        String ns = message.getSOAPPart().getEnvelope().getNamespaceURI();
+        this.soapContentType = SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(ns)
+            ? SOAPConstants.SOAP_1_2_CONTENT_TYPE
+            : SOAPConstants.SOAP_1_1_CONTENT_TYPE;
+        String cs = property(message, SOAPMessage.Property.CHARACTER_SET_ENCODING);
+        this.charset = cs != null ? cs : "utf-8";
+    }
+
+    /**
+     * Returns the transport-specific MIME headers of the multipart message.
+     * The headers are known as soon as the writer is created, so they can be
+     * sent before any part is written.
+     * <p>
+     * The headers of the message, such as {@code SOAPAction}, are returned
+     * with the {@code Content-Type} replaced by the one of the multipart
+     * message. A {@code Content-Length} header is removed, as the length of
+     * the multipart message is not known in advance.
+     *
+     * @return a new {@code MimeHeaders} object holding the headers of the
+     *         message and the {@code Content-Type} of the multipart message
+     */
+    public MimeHeaders getMimeHeaders() {
+        MimeHeaders headers = message.getMimeHeaders() != null
+            ? message.getMimeHeaders().copy()
+            : new MimeHeaders();
+        headers.removeHeader("Content-Length");
+        headers.setHeader("Content-Type", "multipart/related; type=\"" + soapContentType
+            + "\"; boundary=\"" + boundary + "\"; start=\"" + rootContentId + "\"");
+        return headers;
+    }
+
+    /**
+     * Returns the boundary delimiting the parts of the multipart message.
+     *
+     * @return the MIME boundary
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Writes the SOAP part of the message. This method must be called
+     * exactly once, before any attachment is written.
+     *
+     * @exception SOAPException if the message has attachments or cannot be
+     *            serialized
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalStateException if the SOAP part has already been
+     *            written
+     */
+    public void writeSOAPPart() throws SOAPException, IOException {
+        if (state != INITIAL)
+            throw new IllegalStateException("SOAP part has already been written");
+        if (message.countAttachments() > 0)
+            throw new SOAPException("Attachments must be written with writeAttachment");
+        state = PARTS;
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("Content-Type", soapContentType + "; charset=" + charset);
+        headers.addHeader("Content-Transfer-Encoding", "binary");
+        headers.addHeader("Content-ID", rootContentId);
+        writePartHeaders(headers);
+        message.writeTo(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        out.write(CRLF);
+    }
+
+    /**
+     * Writes an attachment whose content is read from the given stream until
+     * its end. The stream is not closed.
+     *
+     * @param headers the MIME headers of the attachment; a
+     *        {@code Content-Type} of {@code application/octet-stream} is
+     *        written if the headers do not contain one
+     * @param content the content of the attachment
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalStateException if the SOAP part has not been written
+     *            yet or the writer is finished
+     */
+    public void writeAttachment(MimeHeaders headers, InputStream content) throws IOException {
+        if (content == null)
+            throw new NullPointerException("content");
+        beginAttachment(headers);
+        int n;
+        while ((n = content.read(buffer)) != -1)
+            out.write(buffer, 0, n);
+        out.write(CRLF);
+    }
+
+    /**
+     * Writes an attachment whose content is read from the given channel until
+     * its end. The channel is not closed.
+     *
+     * @param headers the MIME headers of the attachment; a
+     *        {@code Content-Type} of {@code application/octet-stream} is
+     *        written if the headers do not contain one
+     * @param content the content of the attachment
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalStateException if the SOAP part has not been written
+     *            yet or the writer is finished
+     */
+    public void writeAttachment(MimeHeaders headers, ReadableByteChannel content) throws IOException {
+        if (content == null)
+            throw new NullPointerException("content");
+        beginAttachment(headers);
+        ByteBuffer bb = ByteBuffer.wrap(buffer);
+        while (content.read(bb) != -1) {
+            out.write(buffer, 0, bb.position());
+            bb.clear();
+        }
+        out.write(buffer, 0, bb.position());
+        out.write(CRLF);
+    }
+
+    /**
+     * Writes the given attachment. The MIME headers and the raw content of the
+     * attachment are written, the content with
+     * {@link AttachmentPart#transferTo(OutputStream)}; the attachment does not
+     * need to belong to the message of this writer.
+     *
+     * @param attachment the attachment to write
+     * @exception SOAPException if the content of the attachment cannot be
+     *            obtained
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalStateException if the SOAP part has not been written
+     *            yet or the writer is finished
+     */
+    public void writeAttachment(AttachmentPart attachment) throws SOAPException, IOException {
+        MimeHeaders headers = new MimeHeaders();
+        for (Iterator<MimeHeader> it = attachment.getAllMimeHeaders(); it.hasNext(); ) {
+            MimeHeader header = it.next();
+            headers.addHeader(header.getName(), header.getValue());
+        }
+        beginAttachment(headers);
+        attachment.transferTo(out);
+        out.write(CRLF);
+    }
+
+    /**
+     * Writes the closing boundary of the multipart message and flushes the
+     * underlying stream, which is left open. Calling this method on a
+     * finished writer has no effect.
+     *
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalStateException if the SOAP part has not been written
+     */
+    public void finish() throws IOException {
+        if (state == FINISHED)
+            return;
+        if (state == INITIAL)
+            throw new IllegalStateException("SOAP part has not been written");
+        state = FINISHED;
+        out.write(DASHES);
+        out.write(boundary.getBytes(StandardCharsets.US_ASCII));
+        out.write(DASHES);
+        out.write(CRLF);
+        out.flush();
+    }
+
+    /**
+     * Finishes the multipart message, if the SOAP part has been written, and
+     * closes the underlying stream.
+     *
+     * @exception IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (state == PARTS)
+                finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void beginAttachment(MimeHeaders headers) throws IOException {
+        if (state != PARTS)
+            throw new IllegalStateException(state == INITIAL
+                ? "SOAP part has not been written" : "Writer is finished");
+        MimeHeaders partHeaders = headers != null ? headers : new MimeHeaders();
+        if (partHeaders.getHeader("Content-Type") == null) {
+            partHeaders = partHeaders.copy();
+            partHeaders.addHeader("Content-Type", "application/octet-stream");
+        }
+        writePartHeaders(partHeaders);
+    }
+
+    private static <T> T property(SOAPMessage message, SOAPMessage.Property<T> property) {
+        try {
+            return message.getProperty(property);
+        } catch (SOAPException | UnsupportedOperationException e) {
+            // legacy implementation not recognizing the property
+            return property.getDefaultValue();
+        }
+    }
+
+    private void writePartHeaders(MimeHeaders headers) throws IOException {
+        out.write(DASHES);
+        out.write(boundary.getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+        for (Iterator<MimeHeader> it = headers.getAllHeaders(); it.hasNext(); ) {
+            MimeHeader header = it.next();
+            out.write((header.getName() + ": " + header.getValue()).getBytes(StandardCharsets.ISO_8859_1));
+            out.write(CRLF);
+        }
+        out.write(CRLF);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,6 +12,9 @@ package jakarta.xml.soap;
 
 import java.util.Iterator;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Source;
 
 /**
@@ -228,6 +231,10 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      * Sets the content of the {@code SOAPEnvelope} object with the data
      * from the given {@code Source} object. This {@code Source}
      * must contain a valid SOAP document.
+     * <p>
+     * Implementations should read a {@code javax.xml.transform.stax.StAXSource}
+     * directly, building the envelope from the events of its reader without
+     * an identity {@code Transformer} and without an intermediate DOM tree.
      *
      * @param source the {@code javax.xml.transform.Source} object with the
      *        data to be set
@@ -248,4 +255,55 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      * @see #setContent
      */
     public abstract Source getContent() throws SOAPException;
+
+    /**
+     * Returns the content of the SOAPEnvelope as an {@code XMLStreamReader}
+     * positioned at the start of the document.
+     * <p>
+     * Implementations should read their internal representation directly,
+     * so that the envelope can be consumed by a streaming pipeline without
+     * a {@code Transformer} round trip. The default implementation returns
+     * the reader of a {@code StAXSource}, parses the stream of a
+     * {@code StreamSource}, and otherwise serializes the {@code Source}
+     * returned by {@link #getContent()} and parses the result.
+     *
+     * @return a reader over the content of this {@code SOAPPart}
+     * @exception SOAPException if the content cannot be read
+     * @see #writeContent(XMLStreamWriter)
+     * @since 3.1
+     */
+    public XMLStreamReader getContentAsXMLStreamReader() throws SOAPException {
+        return XMLStreams.reader(getContent());
+    }
+
+    /**
+     * Writes the content of the SOAPEnvelope to the given
+     * {@code XMLStreamWriter}, as used by a
+     * {@code javax.xml.transform.stax.StAXResult}. The envelope element and
+     * its content are written; no start or end of document is written, so
+     * the envelope can be embedded into a larger document. The writer is
+     * flushed but not closed.
+     * <p>
+     * The default implementation copies the events of the reader returned
+     * by {@link #getContentAsXMLStreamReader()}.
+     *
+     * @param writer the writer receiving the content
+     * @exception SOAPException if the content cannot be read or written
+     * @since 3.1
+     */
+    public void writeContent(XMLStreamWriter writer) throws SOAPException {
+        if (writer == null)
+            throw new NullPointerException("writer");
+        XMLStreamReader reader = getContentAsXMLStreamReader();
+        try {
+            try {
+                XMLStreams.copy(reader, writer, false);
+            } finally {
+                reader.close();
+            }
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new SOAPException("Unable to write SOAP part content", e);
+        }
+    }
 }
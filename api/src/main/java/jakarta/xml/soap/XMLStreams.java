@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * StAX helpers backing the default implementations of the streaming
+ * methods of {@code SOAPPart} and {@code SOAPBody}.
+ */
+final class XMLStreams {
+
+    private static final String DOCTYPE_NOT_ALLOWED = "SOAP message must not contain a document type declaration";
+
+    private XMLStreams() {
+    }
+
+    /**
+     * Returns a reader over the given source, positioned at the start of the
+     * document. A {@code StAXSource} reader is used directly; a
+     * {@code StreamSource}, or a {@code SAXSource} without its own
+     * {@code XMLReader}, is parsed by a reader that loads no external DTD
+     * or entity. Any other source is serialized by a secure
+     * {@code Transformer} and parsed again; the {@code XMLReader} of a
+     * {@code SAXSource} is then filtered so that it resolves no external
+     * entity and reports a document type declaration as an error, and a
+     * {@code DOMSource} of a document with a document type is rejected.
+     */
+    static XMLStreamReader reader(Source source) throws SOAPException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // no external DTD or entity is loaded; a document type declaration
+        // is still reported as a DTD event, which copy() rejects
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        try {
+            if (source instanceof StAXSource && ((StAXSource) source).getXMLStreamReader() != null)
+                return ((StAXSource) source).getXMLStreamReader();
+            if (source instanceof StreamSource) {
+                StreamSource stream = (StreamSource) source;
+                if (stream.getInputStream() != null)
+                    return factory.createXMLStreamReader(stream.getSystemId(), stream.getInputStream());
+                if (stream.getReader() != null)
+                    return factory.createXMLStreamReader(stream.getSystemId(), stream.getReader());
+                if (stream.getSystemId() != null)
+                    return factory.createXMLStreamReader(new StreamSource(stream.getSystemId()));
+            }
+            if (source instanceof SAXSource && ((SAXSource) source).getXMLReader() == null
+                    && ((SAXSource) source).getInputSource() != null) {
+                InputSource input = ((SAXSource) source).getInputSource();
+                if (input.getByteStream() != null && input.getEncoding() != null)
+                    return factory.createXMLStreamReader(input.getByteStream(), input.getEncoding());
+                if (input.getByteStream() != null)
+                    return factory.createXMLStreamReader(input.getSystemId(), input.getByteStream());
+                if (input.getCharacterStream() != null)
+                    return factory.createXMLStreamReader(input.getSystemId(), input.getCharacterStream());
+                if (input.getSystemId() != null)
+                    return factory.createXMLStreamReader(new StreamSource(input.getSystemId()));
+            }
+            if (source instanceof SAXSource && ((SAXSource) source).getXMLReader() != null) {
+                SAXSource sax = (SAXSource) source;
+                source = new SAXSource(new DoctypeFilter(sax.getXMLReader()), sax.getInputSource());
+            }
+            if (source instanceof DOMSource)
+                checkDoctype(((DOMSource) source).getNode());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            transformerFactory().newTransformer().transform(source, new StreamResult(bytes));
+            return factory.createXMLStreamReader(new ByteArrayInputStream(bytes.toByteArray()));
+        } catch (XMLStreamException | TransformerException e) {
+            throw new SOAPException("Unable to read XML content", e);
+        }
+    }
+
+    /**
+     * Parses the given source into a new namespace-aware DOM document. A
+     * {@code DOMSource} is copied, any other source is read with
+     * {@link #reader(Source)}, so a document type declaration is rejected.
+     */
+    static Document document(Source source) throws SOAPException {
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            Document document = dbf.newDocumentBuilder().newDocument();
+            if (source instanceof DOMSource) {
+                checkDoctype(((DOMSource) source).getNode());
+                transformerFactory().newTransformer().transform(source, new DOMResult(document));
+                return document;
+            }
+            XMLStreamReader reader = reader(source);
+            try {
+                XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DOMResult(document));
+                copy(reader, writer, false);
+                writer.flush();
+            } finally {
+                reader.close();
+            }
+            return document;
+        } catch (ParserConfigurationException | TransformerException | XMLStreamException | DOMException e) {
+            throw new SOAPException("Unable to read XML content", e);
+        }
+    }
+
+    private static void checkDoctype(Node node) throws SOAPException {
+        if (node instanceof Document && ((Document) node).getDoctype() != null)
+            throw new SOAPException(DOCTYPE_NOT_ALLOWED);
+    }
+
+    /**
+     * Returns a {@code TransformerFactory} that processes securely and does
+     * not load external DTDs or stylesheets.
+     */
+    static TransformerFactory transformerFactory() throws TransformerConfigurationException {
+        TransformerFactory factory = TransformerFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+        return factory;
+    }
+
+    /**
+     * Copies the events of {@code reader} to {@code writer}, from its
+     * current position to the end of the document, or to the end of the
+     * current element if {@code reader} is positioned at a start tag and
+     * {@code element} is {@code true}. No start or end of document is
+     * written. A document type declaration is rejected, as SOAP messages
+     * must not contain one.
+     */
+    static void copy(XMLStreamReader reader, XMLStreamWriter writer, boolean element)
+            throws XMLStreamException {
+        int depth = 0;
+        int event = reader.getEventType();
+        if (event != XMLStreamConstants.START_ELEMENT)
+            event = reader.hasNext() ? reader.next() : XMLStreamConstants.END_DOCUMENT;
+        while (true) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    writer.writeStartElement(prefix(reader.getPrefix()), reader.getLocalName(),
+                        uri(reader.getNamespaceURI()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        String prefix = reader.getNamespacePrefix(i);
+                        if (prefix == null || prefix.isEmpty())
+                            writer.writeDefaultNamespace(uri(reader.getNamespaceURI(i)));
+                        else
+                            writer.writeNamespace(prefix, uri(reader.getNamespaceURI(i)));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        writer.writeAttribute(prefix(reader.getAttributePrefix(i)),
+                            uri(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                            reader.getAttributeValue(i));
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    writer.writeEndElement();
+                    if (element && depth == 0)
+                        return;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    if (depth > 0)
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+                            reader.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                    break;
+                case XMLStreamConstants.DTD:
+                    throw new XMLStreamException(DOCTYPE_NOT_ALLOWED, reader.getLocation());
+                case XMLStreamConstants.END_DOCUMENT:
+                    return;
+                default:
+                    // start of document, entity references
+                    break;
+            }
+            if (!reader.hasNext())
+                return;
+            event = reader.next();
+        }
+    }
+
+    /**
+     * Writes the given DOM node and its descendants to {@code writer},
+     * declaring the namespaces used by elements and attributes that are not
+     * declared in the scope of the writer.
+     */
+    static void write(Node node, XMLStreamWriter writer) throws XMLStreamException {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                writeElement((Element) node, writer);
+                break;
+            case Node.TEXT_NODE:
+                writer.writeCharacters(node.getNodeValue());
+                break;
+            case Node.CDATA_SECTION_NODE:
+                writer.writeCData(node.getNodeValue());
+                break;
+            case Node.COMMENT_NODE:
+                writer.writeComment(node.getNodeValue());
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                writer.writeProcessingInstruction(((ProcessingInstruction) node).getTarget(),
+                    ((ProcessingInstruction) node).getData());
+                break;
+            case Node.DOCUMENT_NODE:
+            case Node.DOCUMENT_FRAGMENT_NODE:
+            case Node.ENTITY_REFERENCE_NODE:
+                for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+                    write(child, writer);
+                break;
+            default:
+                // document types, entities and notations
+                break;
+        }
+    }
+
+    private static void writeElement(Element element, XMLStreamWriter writer) throws XMLStreamException {
+        String prefix = prefix(element.getPrefix());
+        String uri = uri(element.getNamespaceURI());
+        String local = element.getLocalName() != null ? element.getLocalName() : element.getTagName();
+        NamedNodeMap attributes = element.getAttributes();
+        // the declarations are collected before the start tag is written,
+        // as writing it binds the prefix of the element in the writer
+        NamespaceContext scope = writer.getNamespaceContext();
+        Map<String, String> declarations = new LinkedHashMap<>();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI()))
+                declarations.put(XMLConstants.XMLNS_ATTRIBUTE.equals(attr.getName()) ? "" : attr.getLocalName(),
+                    attr.getValue());
+        }
+        declare(prefix, uri, scope, declarations);
+        String[] attrPrefixes = new String[attributes.getLength()];
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            String attrUri = uri(attr.getNamespaceURI());
+            if (XMLConstants.XML_NS_URI.equals(attrUri))
+                attrPrefixes[i] = XMLConstants.XML_NS_PREFIX;
+            else if (!attrUri.isEmpty() && !XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attrUri))
+                attrPrefixes[i] = attributePrefix(prefix(attr.getPrefix()), attrUri, prefix, uri, scope,
+                    declarations);
+        }
+
+        writer.writeStartElement(prefix, local, uri);
+        for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+            if (declaration.getKey().isEmpty())
+                writer.writeDefaultNamespace(declaration.getValue());
+            else
+                writer.writeNamespace(declaration.getKey(), declaration.getValue());
+        }
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            String attrUri = uri(attr.getNamespaceURI());
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attrUri))
+                continue;
+            String attrLocal = attr.getLocalName() != null ? attr.getLocalName() : attr.getName();
+            if (attrUri.isEmpty())
+                writer.writeAttribute(attrLocal, attr.getValue());
+            else
+                writer.writeAttribute(attrPrefixes[i], attrUri, attrLocal, attr.getValue());
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling())
+            write(child, writer);
+        writer.writeEndElement();
+    }
+
+    private static void declare(String prefix, String uri, NamespaceContext scope,
+                                Map<String, String> declarations) {
+        if (!declarations.containsKey(prefix) && !uri.equals(uri(scope.getNamespaceURI(prefix))))
+            declarations.put(prefix, uri);
+    }
+
+    /**
+     * Returns the prefix used for an attribute in the namespace {@code uri},
+     * declaring it if needed. An attribute without a prefix is not in the
+     * default namespace, so a prefix already bound to {@code uri} is used
+     * for it, or else a new one of the form {@code nsN}; the same is done
+     * when its own prefix is bound to another namespace on the element.
+     */
+    private static String attributePrefix(String prefix, String uri, String elementPrefix, String elementUri,
+                                          NamespaceContext scope, Map<String, String> declarations) {
+        if (!prefix.isEmpty()) {
+            String bound = declarations.containsKey(prefix) ? declarations.get(prefix)
+                : prefix.equals(elementPrefix) ? elementUri : null;
+            if (bound == null || bound.equals(uri)) {
+                declare(prefix, uri, scope, declarations);
+                return prefix;
+            }
+        }
+        for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+            if (!declaration.getKey().isEmpty() && uri.equals(declaration.getValue()))
+                return declaration.getKey();
+        }
+        String bound = scope.getPrefix(uri);
+        if (bound != null && !bound.isEmpty() && !declarations.containsKey(bound))
+            return bound;
+        String generated;
+        int n = 1;
+        do {
+            generated = "ns" + n++;
+        } while (declarations.containsKey(generated) || !uri(scope.getNamespaceURI(generated)).isEmpty());
+        declarations.put(generated, uri);
+        return generated;
+    }
+
+    private static String prefix(String prefix) {
+        return prefix != null ? prefix : "";
+    }
+
+    private static String uri(String uri) {
+        return uri != null ? uri : "";
+    }
+
+    /**
+     * Filters the {@code XMLReader} of a {@code SAXSource}: a document type
+     * declaration is reported as an error and no external entity is
+     * resolved. The lexical handler set by the consumer of the source
+     * receives the other lexical events.
+     */
+    private static final class DoctypeFilter extends XMLFilterImpl implements LexicalHandler {
+
+        private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+        private LexicalHandler lexicalHandler;
+
+        DoctypeFilter(XMLReader parent) {
+            super(parent);
+        }
+
+        @Override
+        public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+            if (LEXICAL_HANDLER.equals(name))
+                lexicalHandler = (LexicalHandler) value;
+            else
+                super.setProperty(name, value);
+        }
+
+        @Override
+        public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+            return LEXICAL_HANDLER.equals(name) ? lexicalHandler : super.getProperty(name);
+        }
+
+        @Override
+        public void parse(InputSource input) throws SAXException, IOException {
+            try {
+                getParent().setProperty(LEXICAL_HANDLER, this);
+            } catch (SAXNotRecognizedException | SAXNotSupportedException e) {
+                // no lexical events, external entities are still not resolved
+            }
+            super.parse(input);
+        }
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) throws SAXException {
+            throw new SAXException(DOCTYPE_NOT_ALLOWED);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+            throw new SAXException(DOCTYPE_NOT_ALLOWED);
+        }
+
+        @Override
+        public void endDTD() throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.endDTD();
+        }
+
+        @Override
+        public void startEntity(String name) throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.startEntity(name);
+        }
+
+        @Override
+        public void endEntity(String name) throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.endEntity(name);
+        }
+
+        @Override
+        public void startCDATA() throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.startCDATA();
+        }
+
+        @Override
+        public void endCDATA() throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.endCDATA();
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) throws SAXException {
+            if (lexicalHandler != null)
+                lexicalHandler.comment(ch, start, length);
+        }
+    }
+}
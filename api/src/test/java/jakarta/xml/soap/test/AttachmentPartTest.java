@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AttachmentPartTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void pathContent() throws Exception {
+        Path file = Files.createTempFile("attachment", ".bin");
+        try {
+            Files.write(file, CONTENT);
+            StubAttachmentPart part = new StubAttachmentPart();
+            part.setRawContent(file, "application/octet-stream");
+            assertEquals("application/octet-stream", part.getContentType());
+            assertEquals(CONTENT.length, part.getSizeIfKnown());
+            assertArrayEquals(CONTENT, part.getRawContentBytes());
+            assertArrayEquals(CONTENT, toArray(part.getRawContentBuffer()));
+            assertTransferred(part, CONTENT);
+        } finally {
+            Files.delete(file);
+        }
+        try {
+            new StubAttachmentPart().setRawContent(file, "application/octet-stream");
+            fail("missing file must be rejected");
+        } catch (SOAPException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void fileChannelRegion() throws Exception {
+        Path file = Files.createTempFile("attachment", ".bin");
+        try (FileChannel channel = FileChannel.open(Files.write(file, CONTENT), StandardOpenOption.READ)) {
+            StubAttachmentPart part = new StubAttachmentPart();
+            part.setRawContent(channel, 5, 10, "text/plain");
+            byte[] region = "56789abcde".getBytes(StandardCharsets.US_ASCII);
+            assertEquals("text/plain", part.getContentType());
+            assertEquals(10, part.getSizeIfKnown());
+            assertArrayEquals(region, part.getRawContentBytes());
+            assertArrayEquals(region, toArray(part.getRawContentBuffer()));
+            assertTransferred(part, region);
+            // positional reads leave the channel where it was
+            assertEquals(0, channel.position());
+            assertTrue(channel.isOpen());
+            try {
+                part.setRawContent(channel, -1, 10, "text/plain");
+                fail("negative position must be rejected");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void byteBufferContent() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(CONTENT);
+        buffer.position(10);
+        StubAttachmentPart part = new StubAttachmentPart();
+        part.setRawContent(buffer, "text/plain");
+        // later changes to the buffer position do not affect the attachment
+        buffer.position(0);
+        byte[] tail = "abcdefghij".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("text/plain", part.getContentType());
+        assertEquals(10, part.getSizeIfKnown());
+        assertArrayEquals(tail, part.getRawContentBytes());
+        assertTrue(part.getRawContentBuffer().isReadOnly());
+        assertArrayEquals(tail, toArray(part.getRawContentBuffer()));
+        assertTransferred(part, tail);
+    }
+
+    @Test
+    public void sizeIfKnown() throws Exception {
+        StubAttachmentPart part = new StubAttachmentPart();
+        assertEquals(-1, part.getSizeIfKnown());
+        part.setMimeHeader("Content-Length", " 42 ");
+        assertEquals(42, part.getSizeIfKnown());
+        part.setMimeHeader("Content-Length", "many");
+        assertEquals(-1, part.getSizeIfKnown());
+        part.setRawContent(new ByteArrayInputStream(CONTENT), "text/plain");
+        part.setContentLength(CONTENT.length);
+        assertEquals(CONTENT.length, part.getSizeIfKnown());
+        part.setContentLength(-5);
+        assertEquals(-1, part.getSizeIfKnown());
+        // the setters describing their own size clear the hint
+        part.setContentLength(1000);
+        part.setRawContent(ByteBuffer.wrap(CONTENT, 0, 3), "text/plain");
+        assertEquals(3, part.getSizeIfKnown());
+        part.setRawContent(new ByteArrayInputStream(CONTENT), "text/plain");
+        assertEquals(-1, part.getSizeIfKnown());
+    }
+
+    @Test
+    public void streamContent() throws Exception {
+        StubAttachmentPart part = new StubAttachmentPart();
+        part.setRawContent(new ByteArrayInputStream(CONTENT), "text/plain");
+        assertEquals(-1, part.getBytesInMemory());
+        assertEquals(-1, part.getBytesOnDisk());
+        assertArrayEquals(CONTENT, toArray(part.getRawContentBuffer()));
+        assertTransferred(part, CONTENT);
+    }
+
+    @Test
+    public void fileTransferToStutteringChannel() throws Exception {
+        Path file = Files.createTempFile("attachment", ".bin");
+        try {
+            byte[] content = new byte[100000];
+            for (int i = 0; i < content.length; i++)
+                content[i] = (byte) i;
+            Files.write(file, content);
+            StubAttachmentPart part = new StubAttachmentPart();
+            part.setRawContent(file, "application/octet-stream");
+            StutteringChannel target = new StutteringChannel();
+            assertEquals(content.length, part.transferTo(target));
+            assertArrayEquals(content, target.out.toByteArray());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertTransferred(AttachmentPart part, byte[] expected) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(expected.length, part.transferTo(out));
+        assertArrayEquals(expected, out.toByteArray());
+        out.reset();
+        assertEquals(expected.length, part.transferTo(Channels.newChannel(out)));
+        assertArrayEquals(expected, out.toByteArray());
+        // the content can be written again
+        out.reset();
+        assertEquals(expected.length, part.transferTo(out));
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * A channel accepting nothing on every other write, as a full
+     * non-blocking channel does, and at most a few bytes otherwise.
+     */
+    private static final class StutteringChannel implements WritableByteChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private boolean accept;
+
+        @Override
+        public int write(ByteBuffer src) {
+            accept = !accept;
+            if (!accept)
+                return 0;
+            int n = Math.min(src.remaining(), 7);
+            for (int i = 0; i < n; i++)
+                out.write(src.get());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * An attachment part holding its content in a {@code DataHandler} and its
+     * headers in a {@code MimeHeaders} object, leaving everything else to the
+     * default methods of {@code AttachmentPart}.
+     */
+    private static final class StubAttachmentPart extends AttachmentPart {
+        private final MimeHeaders headers = new MimeHeaders();
+        private DataHandler dataHandler;
+
+        @Override
+        public DataHandler getDataHandler() throws SOAPException {
+            if (dataHandler == null)
+                throw new SOAPException("No content");
+            return dataHandler;
+        }
+
+        @Override
+        public void setDataHandler(DataHandler dataHandler) {
+            this.dataHandler = dataHandler;
+        }
+
+        @Override
+        public InputStream getRawContent() throws SOAPException {
+            try {
+                return getDataHandler().getInputStream();
+            } catch (IOException e) {
+                throw new SOAPException(e);
+            }
+        }
+
+        @Override
+        public byte[] getRawContentBytes() throws SOAPException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = getRawContent()) {
+                byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) != -1)
+                    out.write(buffer, 0, n);
+            } catch (IOException e) {
+                throw new SOAPException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public void setRawContent(InputStream content, String contentType) throws SOAPException {
+            byte[] bytes;
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int n;
+                while ((n = content.read(buffer)) != -1)
+                    out.write(buffer, 0, n);
+                bytes = out.toByteArray();
+            } catch (IOException e) {
+                throw new SOAPException(e);
+            }
+            setDataHandler(new DataHandler(new BytesDataSource(bytes, contentType)));
+            setContentType(contentType);
+            setContentLength(-1);
+        }
+
+        @Override
+        public void setRawContentBytes(byte[] content, int offset, int len, String contentType)
+                throws SOAPException {
+            byte[] bytes = new byte[len];
+            System.arraycopy(content, offset, bytes, 0, len);
+            setRawContent(new ByteArrayInputStream(bytes), contentType);
+        }
+
+        @Override
+        public int getSize() throws SOAPException {
+            return getRawContentBytes().length;
+        }
+
+        @Override
+        public void clearContent() {
+            dataHandler = null;
+        }
+
+        @Override
+        public Object getContent() throws SOAPException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream getBase64Content() throws SOAPException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setContent(Object object, String contentType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBase64Content(InputStream content, String contentType) throws SOAPException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeMimeHeader(String header) {
+            headers.removeHeader(header);
+        }
+
+        @Override
+        public void removeAllMimeHeaders() {
+            headers.removeAllHeaders();
+        }
+
+        @Override
+        public String[] getMimeHeader(String name) {
+            return headers.getHeader(name);
+        }
+
+        @Override
+        public void setMimeHeader(String name, String value) {
+            headers.setHeader(name, value);
+        }
+
+        @Override
+        public void addMimeHeader(String name, String value) {
+            headers.addHeader(name, value);
+        }
+
+        @Override
+        public Iterator<MimeHeader> getAllMimeHeaders() {
+            return headers.getAllHeaders();
+        }
+
+        @Override
+        public Iterator<MimeHeader> getMatchingMimeHeaders(String[] names) {
+            return headers.getMatchingHeaders(names);
+        }
+
+        @Override
+        public Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] names) {
+            return headers.getNonMatchingHeaders(names);
+        }
+    }
+
+    private static final class BytesDataSource implements DataSource {
+        private final byte[] bytes;
+        private final String contentType;
+
+        BytesDataSource(byte[] bytes, String contentType) {
+            this.bytes = bytes;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException("Read-only data source");
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getName() {
+            return "";
+        }
+    }
+}
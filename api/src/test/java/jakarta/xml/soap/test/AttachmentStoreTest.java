@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.xml.soap.AttachmentStore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AttachmentStoreTest {
+
+    @Test
+    public void identicalContentIsStoredOnce() throws Exception {
+        AttachmentStore store = new AttachmentStore(1024);
+        byte[] data = "logo".getBytes("US-ASCII");
+        try (AttachmentStore.Content a = store.add(new ByteArrayInputStream(data));
+             AttachmentStore.Content b = store.add(ByteBuffer.wrap(data))) {
+            assertArrayEquals(a.getDigest(), b.getDigest());
+            assertEquals(1, store.getEntryCount());
+            assertEquals(4, store.getSize());
+            assertArrayEquals(data, read(b.getDataSource("image/png").getInputStream()));
+        }
+        assertEquals(1, store.getEntryCount());
+        store.clear();
+        assertEquals(0, store.getEntryCount());
+    }
+
+    @Test
+    public void unreferencedContentIsEvicted() throws Exception {
+        AttachmentStore store = new AttachmentStore(10);
+        AttachmentStore.Content a = store.add(ByteBuffer.wrap(new byte[6]));
+        AttachmentStore.Content b = store.add(ByteBuffer.wrap(new byte[7]));
+        // referenced content does not count toward the capacity
+        assertEquals(2, store.getEntryCount());
+        a.close();
+        assertEquals(2, store.getEntryCount());
+        assertEquals(13, store.getSize());
+        b.close();
+        b.close();
+        // the least recently used content is evicted
+        assertEquals(1, store.getEntryCount());
+        assertEquals(7, store.getSize());
+        // adding it again references it, so it is not evicted
+        try (AttachmentStore.Content c = store.add(ByteBuffer.wrap(new byte[7]))) {
+            store.add(ByteBuffer.wrap(new byte[12])).close();
+            assertEquals(1, store.getEntryCount());
+            assertEquals(7, store.getSize());
+        }
+    }
+
+    @Test
+    public void fileContent() throws Exception {
+        Path file = Files.createTempFile("store", ".bin");
+        try {
+            byte[] data = new byte[20_000];
+            data[12_345] = 42;
+            Files.write(file, data);
+            AttachmentStore store = new AttachmentStore(0);
+            try (AttachmentStore.Content content = store.add(file)) {
+                assertEquals(data.length, content.getSize());
+                assertArrayEquals(data, read(content.getDataSource("application/octet-stream").getInputStream()));
+            }
+            assertEquals(0, store.getEntryCount());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void fileContentIsReadFromTheCallersFile() throws Exception {
+        byte[] data = "shared".getBytes("US-ASCII");
+        Path first = Files.createTempFile("store", ".bin");
+        Path second = Files.createTempFile("store", ".bin");
+        try {
+            Files.write(first, data);
+            Files.write(second, data);
+            AttachmentStore store = new AttachmentStore(1024);
+            AttachmentStore.Content a = store.add(first);
+            try (AttachmentStore.Content b = store.add(second)) {
+                assertEquals(1, store.getEntryCount());
+                // the first caller is done with its file
+                a.close();
+                Files.delete(first);
+                assertArrayEquals(data, read(b.getDataSource("text/plain").getInputStream()));
+            }
+            try (AttachmentStore.Content c = store.add(ByteBuffer.wrap(data))) {
+                // the content is held in memory, the files are not needed
+                Files.delete(second);
+                assertArrayEquals(data, read(c.getDataSource("text/plain").getInputStream()));
+            }
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+        }
+    }
+
+    private static byte[] read(InputStream in) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1000];
+        int n;
+        try (InputStream is = in) {
+            while ((n = is.read(buf)) != -1)
+                out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
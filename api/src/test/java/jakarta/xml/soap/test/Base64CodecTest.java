@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import jakarta.xml.soap.Base64Codec;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Base64CodecTest {
+
+    @Test
+    public void encodingStreamMatchesJdk() throws Exception {
+        for (int size : new int[] {0, 1, 2, 3, 57, 1000, 3 * 1024, 100_000}) {
+            byte[] data = data(size);
+            assertArrayEquals(Base64.getMimeEncoder().encode(data),
+                readAll(Base64Codec.encodingStream(new ByteArrayInputStream(data), Base64Codec.MIME_LINE_LENGTH)));
+            assertArrayEquals(Base64.getEncoder().encode(data),
+                readAll(Base64Codec.encodingStream(new ByteArrayInputStream(data), 0)));
+        }
+    }
+
+    @Test
+    public void encodedLinesAreWrapped() throws Exception {
+        byte[] encoded = readAll(Base64Codec.encodingStream(new ByteArrayInputStream(data(10_000)), 64));
+        for (String line : new String(encoded, StandardCharsets.US_ASCII).split("\r\n"))
+            assertTrue(line.length() <= 64);
+    }
+
+    @Test
+    public void decodingStream() throws Exception {
+        byte[] data = data(12_345);
+        byte[] encoded = Base64.getMimeEncoder().encode(data);
+        assertArrayEquals(data, readAll(Base64Codec.decodingStream(new ByteArrayInputStream(encoded))));
+    }
+
+    @Test
+    public void outputStreams() throws Exception {
+        byte[] data = data(9_999);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = Base64Codec.encoder(encoded, Base64Codec.MIME_LINE_LENGTH)) {
+            out.write(data);
+        }
+        assertArrayEquals(Base64.getMimeEncoder().encode(data), encoded.toByteArray());
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (OutputStream out = Base64Codec.decoder(decoded)) {
+            byte[] b = encoded.toByteArray();
+            // split writes in the middle of groups and line separators
+            for (int i = 0; i < b.length; i += 77)
+                out.write(b, i, Math.min(77, b.length - i));
+        }
+        assertArrayEquals(data, decoded.toByteArray());
+    }
+
+    @Test
+    public void decoderAcceptsMissingPadding() throws Exception {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (OutputStream out = Base64Codec.decoder(decoded)) {
+            out.write("aGVsbG8".getBytes(StandardCharsets.US_ASCII));
+        }
+        assertEquals("hello", new String(decoded.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test(expected = IOException.class)
+    public void decoderRejectsDataAfterPadding() throws Exception {
+        try (OutputStream out = Base64Codec.decoder(new ByteArrayOutputStream())) {
+            out.write("aGk=aGk=".getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void buffers() {
+        byte[] data = data(5_000);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        ByteBuffer encoded = Base64Codec.encode(direct, Base64Codec.MIME_LINE_LENGTH);
+        ByteBuffer decoded = Base64Codec.decode(encoded);
+        byte[] result = new byte[decoded.remaining()];
+        decoded.get(result);
+        assertArrayEquals(data, result);
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[500];
+        int n;
+        try (InputStream is = in) {
+            while ((n = is.read(buf)) != -1)
+                out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
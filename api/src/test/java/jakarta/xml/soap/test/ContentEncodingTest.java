@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.xml.soap.ContentEncoding;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ContentEncodingTest {
+
+    private static final byte[] DATA = payload();
+
+    @Test
+    public void gzipRoundTrip() throws Exception {
+        byte[] encoded = encode("gzip");
+        assertTrue(encoded.length < DATA.length);
+        // interoperable with the JDK implementation
+        assertArrayEquals(DATA, readAll(new GZIPInputStream(new ByteArrayInputStream(encoded))));
+        assertArrayEquals(DATA, readAll(ContentEncoding.decode(new ByteArrayInputStream(encoded), "GZIP", 512)));
+    }
+
+    @Test
+    public void deflateRoundTrip() throws Exception {
+        byte[] encoded = encode("deflate");
+        assertArrayEquals(DATA, readAll(ContentEncoding.decode(new ByteArrayInputStream(encoded), "deflate", 512)));
+    }
+
+    @Test
+    public void decodeForeignStreams() throws Exception {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(DATA);
+        }
+        assertArrayEquals(DATA, readAll(ContentEncoding.decode(new ByteArrayInputStream(gzip.toByteArray()), "x-gzip", 100)));
+
+        // raw deflate data sent with the "deflate" coding
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(raw, new Deflater(Deflater.BEST_SPEED, true))) {
+            out.write(DATA);
+        }
+        assertArrayEquals(DATA, readAll(ContentEncoding.decode(new ByteArrayInputStream(raw.toByteArray()), "deflate", 100)));
+    }
+
+    @Test
+    public void identity() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = new ByteArrayInputStream(DATA);
+        assertSame(out, ContentEncoding.encode(out, "identity", -1, 512));
+        assertSame(in, ContentEncoding.decode(in, null, 512));
+
+        MimeHeaders headers = new MimeHeaders();
+        assertNull(ContentEncoding.getContentEncoding(headers));
+        headers.addHeader("content-encoding", " GZip ");
+        assertEquals("gzip", ContentEncoding.getContentEncoding(headers));
+    }
+
+    @Test(expected = SOAPException.class)
+    public void unsupported() throws Exception {
+        assertFalse(ContentEncoding.isSupported("br"));
+        ContentEncoding.encode(new ByteArrayOutputStream(), "br", -1, 512);
+    }
+
+    @Test
+    public void finishedStreamsReturnTheirDeflater() throws Exception {
+        // the first stream may create a deflater, the others reuse it
+        finishWithoutClosing();
+        int pooled = pooledDeflaters();
+        assertTrue(pooled > 0);
+        for (int i = 0; i < 100; i++) {
+            byte[] encoded = finishWithoutClosing();
+            assertEquals(pooled, pooledDeflaters());
+            assertArrayEquals(DATA, readAll(new GZIPInputStream(new ByteArrayInputStream(encoded))));
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        DeflaterOutputStream out = (DeflaterOutputStream) ContentEncoding.encode(result, "gzip", -1, 512);
+        out.finish();
+        try {
+            out.write(1);
+            fail("write after finish must fail");
+        } catch (IOException e) {
+            // expected
+        }
+        // closing a finished stream does not return its deflater again
+        out.close();
+        assertEquals(pooled, pooledDeflaters());
+    }
+
+    private static byte[] finishWithoutClosing() throws Exception {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        DeflaterOutputStream out = (DeflaterOutputStream) ContentEncoding.encode(result, "gzip", -1, 512);
+        out.write(DATA);
+        out.finish();
+        return result.toByteArray();
+    }
+
+    // the number of gzip deflaters in the pool of ContentEncoding
+    private static int pooledDeflaters() throws Exception {
+        Field field = ContentEncoding.class.getDeclaredField("DEFLATERS");
+        field.setAccessible(true);
+        Object pool = field.get(null);
+        Field size = pool.getClass().getDeclaredField("size");
+        size.setAccessible(true);
+        return ((AtomicInteger) size.get(pool)).get();
+    }
+
+    private static byte[] encode(String encoding) throws Exception {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream out = ContentEncoding.encode(result, encoding, Deflater.BEST_COMPRESSION, 1024)) {
+            out.write(DATA, 0, 10);
+            out.write(DATA[10]);
+            out.write(DATA, 11, DATA.length - 11);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[777];
+        int n;
+        try (InputStream is = in) {
+            while ((n = is.read(buf)) != -1)
+                out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] payload() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            sb.append("<item id=\"").append(i).append("\">value ").append(i * 31 % 977).append("</item>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.xml.soap.PayloadWriter;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import static org.junit.Assert.assertEquals;
+
+public class PayloadWriterTest {
+
+    @Test
+    public void writesPrefixedAttributes() throws Exception {
+        Document document = newDocument();
+        Element root = document.createElementNS("urn:e", "e:root");
+        root.setAttributeNS("urn:p", "p:x", "1");
+        root.setAttributeNS(XMLConstants.XML_NS_URI, "xml:lang", "en");
+        document.appendChild(root);
+        Element child = document.createElementNS("urn:e", "e:child");
+        // the prefix of the attribute is bound to another namespace
+        child.setAttributeNS("urn:q", "e:y", "2");
+        root.appendChild(child);
+
+        Element parsed = roundTrip(document);
+        assertEquals("urn:e", parsed.getNamespaceURI());
+        assertEquals("1", parsed.getAttributeNS("urn:p", "x"));
+        assertEquals("en", parsed.getAttributeNS(XMLConstants.XML_NS_URI, "lang"));
+        Element parsedChild = (Element) parsed.getFirstChild();
+        assertEquals("urn:e", parsedChild.getNamespaceURI());
+        assertEquals("2", parsedChild.getAttributeNS("urn:q", "y"));
+    }
+
+    @Test
+    public void writesUnprefixedNamespacedAttributes() throws Exception {
+        Document document = newDocument();
+        Element root = document.createElementNS("urn:d", "root");
+        root.setAttributeNS("urn:a", "a", "v");
+        root.setAttributeNS("urn:d", "b", "w");
+        root.setAttributeNS(null, "c", "x");
+        document.appendChild(root);
+        Element child = document.createElementNS("urn:d", "child");
+        child.setAttributeNS("urn:a", "a", "z");
+        root.appendChild(child);
+
+        Element parsed = roundTrip(document);
+        // the default namespace of the element is not rebound
+        assertEquals("urn:d", parsed.getNamespaceURI());
+        assertEquals("", parsed.getPrefix() == null ? "" : parsed.getPrefix());
+        assertEquals("v", parsed.getAttributeNS("urn:a", "a"));
+        assertEquals("w", parsed.getAttributeNS("urn:d", "b"));
+        assertEquals("x", parsed.getAttributeNS(null, "c"));
+        Element parsedChild = (Element) parsed.getFirstChild();
+        assertEquals("urn:d", parsedChild.getNamespaceURI());
+        assertEquals("z", parsedChild.getAttributeNS("urn:a", "a"));
+    }
+
+    @Test
+    public void writesDefaultNamespaceDeclarations() throws Exception {
+        Document document = newDocument();
+        Element root = document.createElementNS("urn:d", "root");
+        root.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, "xmlns", "urn:d");
+        document.appendChild(root);
+        Element child = document.createElementNS(null, "plain");
+        child.setAttributeNS(null, "c", "x");
+        root.appendChild(child);
+
+        Element parsed = roundTrip(document);
+        assertEquals("urn:d", parsed.getNamespaceURI());
+        Element parsedChild = (Element) parsed.getFirstChild();
+        assertEquals(null, parsedChild.getNamespaceURI());
+        assertEquals("x", parsedChild.getAttribute("c"));
+    }
+
+    private static Element roundTrip(Document document) throws Exception {
+        StringWriter out = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        PayloadWriter.of(document).write(writer);
+        writer.flush();
+        byte[] xml = out.toString().getBytes(StandardCharsets.UTF_8);
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml)).getDocumentElement();
+    }
+
+    private static Document newDocument() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().newDocument();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPMessage.Property;
+import jakarta.xml.soap.SOAPMessage.PropertyMap;
+import jakarta.xml.soap.SOAPPart;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class PropertyTest {
+
+    @Test
+    public void numbersAreConverted() {
+        assertEquals(1024L, (long) Property.ATTACHMENT_MEMORY_THRESHOLD.valueOf(1024));
+        assertEquals(7L, (long) Property.ATTACHMENT_MEMORY_THRESHOLD.valueOf((short) 7));
+        assertEquals(5, (int) Property.COMPRESSION_LEVEL.valueOf(5L));
+        assertEquals(6, (int) Property.COMPRESSION_LEVEL.valueOf(" 6 "));
+        assertEquals(-1L, (long) Property.ATTACHMENT_MEMORY_THRESHOLD.valueOf("-1"));
+        assertInvalid(Property.COMPRESSION_LEVEL, 1L << 40);
+        assertInvalid(Property.COMPRESSION_LEVEL, 1.5);
+        assertInvalid(Property.COMPRESSION_LEVEL, "six");
+    }
+
+    @Test
+    public void booleansAreParsedStrictly() {
+        assertEquals(Boolean.TRUE, Property.MTOM.valueOf("true"));
+        assertEquals(Boolean.TRUE, Property.MTOM.valueOf("TRUE"));
+        assertEquals(Boolean.FALSE, Property.MTOM.valueOf(" False "));
+        assertEquals(Boolean.TRUE, Property.MTOM.valueOf(Boolean.TRUE));
+        assertNull(Property.MTOM.valueOf(null));
+        assertInvalid(Property.MTOM, "yes");
+        assertInvalid(Property.MTOM, "1");
+        assertInvalid(Property.MTOM, "");
+        assertInvalid(Property.MTOM, 1);
+    }
+
+    @Test
+    public void stringKeyedMapKeepsLegacyValues() throws Exception {
+        PropertyMap map = new PropertyMap();
+        map.set(Property.ATTACHMENT_MEMORY_THRESHOLD.getName(), 1024);
+        map.set(Property.WRITE_XML_DECLARATION.getName(), "true");
+        map.set(Property.CHARACTER_SET_ENCODING.getName(), "utf-16");
+        assertEquals(1024L, (long) map.get(Property.ATTACHMENT_MEMORY_THRESHOLD));
+        assertEquals(Boolean.TRUE, map.get(Property.WRITE_XML_DECLARATION));
+        assertEquals("1024", map.get(Property.ATTACHMENT_MEMORY_THRESHOLD.getName()));
+        assertEquals("true", map.get(Property.WRITE_XML_DECLARATION.getName()));
+        assertEquals("utf-16", map.get(Property.CHARACTER_SET_ENCODING.getName()));
+        assertNull(map.get(Property.MTOM.getName()));
+        try {
+            map.set(Property.MTOM.getName(), "yes");
+            fail("invalid value must be rejected");
+        } catch (SOAPException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void messagePropertiesAreConverted() throws Exception {
+        StubMessage message = new StubMessage();
+        message.setProperty(Property.ATTACHMENT_MEMORY_THRESHOLD.getName(), 1024);
+        assertEquals(1024L, (long) message.getProperty(Property.ATTACHMENT_MEMORY_THRESHOLD));
+        message.setProperty(Property.DEFERRED_BODY, Boolean.TRUE);
+        assertEquals("true", message.getProperty(Property.DEFERRED_BODY.getName()));
+        assertEquals(Boolean.TRUE, message.getProperty(Property.DEFERRED_BODY));
+        // the default value when no value is set
+        assertEquals(Boolean.FALSE, message.getProperty(Property.MTOM));
+
+        // a legacy implementation storing the value as given
+        message.raw = "yes";
+        try {
+            message.getProperty(Property.MTOM);
+            fail("invalid value must be rejected");
+        } catch (SOAPException e) {
+            // expected
+        }
+    }
+
+    private static void assertInvalid(Property<?> property, Object value) {
+        try {
+            property.valueOf(value);
+            fail("invalid value must be rejected: " + value);
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A message backing the string-keyed property methods with a
+     * {@code PropertyMap}, or returning {@code raw} if it is set.
+     */
+    private static final class StubMessage extends SOAPMessage {
+        private final PropertyMap properties = new PropertyMap();
+        Object raw;
+
+        @Override
+        public void setProperty(String property, Object value) throws SOAPException {
+            properties.set(property, value);
+        }
+
+        @Override
+        public Object getProperty(String property) throws SOAPException {
+            return raw != null ? raw : properties.get(property);
+        }
+
+        @Override
+        public void setContentDescription(String description) {
+        }
+
+        @Override
+        public String getContentDescription() {
+            return null;
+        }
+
+        @Override
+        public SOAPPart getSOAPPart() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeAllAttachments() {
+        }
+
+        @Override
+        public int countAttachments() {
+            return 0;
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeAttachments(MimeHeaders headers) {
+        }
+
+        @Override
+        public AttachmentPart getAttachment(SOAPElement element) {
+            return null;
+        }
+
+        @Override
+        public void addAttachmentPart(AttachmentPart attachmentPart) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttachmentPart createAttachmentPart() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MimeHeaders getMimeHeaders() {
+            return new MimeHeaders();
+        }
+
+        @Override
+        public void saveChanges() {
+        }
+
+        @Override
+        public boolean saveRequired() {
+            return false;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPException;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SOAPBodyTest {
+
+    private static final String PLAIN = "<r><!-- c --><![CDATA[t]]></r>";
+
+    @Test
+    public void setPayloadFromSource() throws Exception {
+        StubBody body = new StubBody();
+        body.proxy.setPayload(new StreamSource(new StringReader("<p:a xmlns:p='urn:p'><b>t</b></p:a>")));
+        assertEquals(1, body.documents.size());
+        Document document = body.documents.get(0);
+        assertEquals("urn:p", document.getDocumentElement().getNamespaceURI());
+        assertEquals("t", document.getDocumentElement().getTextContent());
+    }
+
+    @Test
+    public void setPayloadRejectsExternalEntity() throws Exception {
+        Path secret = secret();
+        try {
+            assertRejected(new StreamSource(new StringReader(withEntity(secret))));
+            assertRejected(new StreamSource(new ByteArrayInputStream(
+                withEntity(secret).getBytes(StandardCharsets.UTF_8))));
+        } finally {
+            Files.delete(secret);
+        }
+    }
+
+    @Test
+    public void setPayloadRejectsDoctype() throws Exception {
+        assertRejected(new StreamSource(new StringReader("<!DOCTYPE r [<!ENTITY x 'y'>]><r>&x;</r>")));
+    }
+
+    @Test
+    public void systemIdSource() throws Exception {
+        Path secret = secret();
+        Path document = Files.createTempFile("payload", ".xml");
+        try {
+            Files.write(document, PLAIN.getBytes(StandardCharsets.UTF_8));
+            assertAccepted(new StreamSource(document.toUri().toString()));
+            assertAccepted(new SAXSource(new InputSource(document.toUri().toString())));
+            Files.write(document, withEntity(secret).getBytes(StandardCharsets.UTF_8));
+            assertRejected(new StreamSource(document.toUri().toString()));
+            assertRejected(new SAXSource(new InputSource(document.toUri().toString())));
+        } finally {
+            Files.delete(document);
+            Files.delete(secret);
+        }
+    }
+
+    @Test
+    public void saxSource() throws Exception {
+        Path secret = secret();
+        try {
+            assertAccepted(new SAXSource(new InputSource(new StringReader(PLAIN))));
+            assertAccepted(new SAXSource(xmlReader(), new InputSource(new StringReader(PLAIN))));
+            assertRejected(new SAXSource(new InputSource(new StringReader(withEntity(secret)))));
+            assertRejected(new SAXSource(xmlReader(), new InputSource(new StringReader(withEntity(secret)))));
+        } finally {
+            Files.delete(secret);
+        }
+    }
+
+    @Test
+    public void domSource() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        assertAccepted(new DOMSource(dbf.newDocumentBuilder().parse(new InputSource(new StringReader(PLAIN)))));
+        Document doctype = dbf.newDocumentBuilder()
+            .parse(new InputSource(new StringReader("<!DOCTYPE r [<!ENTITY x 'y'>]><r>&x;</r>")));
+        assertRejected(new DOMSource(doctype));
+    }
+
+    @Test
+    public void staxSource() throws Exception {
+        Path secret = secret();
+        try {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            assertAccepted(new StAXSource(factory.createXMLStreamReader(new StringReader(PLAIN))));
+            assertRejected(new StAXSource(factory.createXMLStreamReader(new StringReader(withEntity(secret)))));
+        } finally {
+            Files.delete(secret);
+        }
+    }
+
+    private static void assertAccepted(Source source) throws Exception {
+        StubBody body = new StubBody();
+        body.proxy.setPayload(source);
+        assertEquals(1, body.documents.size());
+        assertEquals("t", body.documents.get(0).getDocumentElement().getTextContent());
+    }
+
+    private static void assertRejected(Source source) throws Exception {
+        StubBody body = new StubBody();
+        try {
+            body.proxy.setPayload(source);
+            fail("payload must be rejected: " + body.documents.get(0).getDocumentElement().getTextContent());
+        } catch (SOAPException e) {
+            // expected
+        }
+        assertTrue(body.documents.isEmpty());
+    }
+
+    private static Path secret() throws Exception {
+        Path secret = Files.createTempFile("secret", ".txt");
+        Files.write(secret, "TOPSECRET".getBytes(StandardCharsets.US_ASCII));
+        return secret;
+    }
+
+    private static String withEntity(Path file) {
+        return "<!DOCTYPE r [<!ENTITY x SYSTEM '" + file.toUri() + "'>]><r>&x;</r>";
+    }
+
+    private static XMLReader xmlReader() throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    /**
+     * A {@code SOAPBody} running the default methods of the interface and
+     * recording the documents added to it.
+     */
+    static final class StubBody {
+        final List<Document> documents = new ArrayList<>();
+        final SOAPBody proxy;
+
+        StubBody() {
+            proxy = (SOAPBody) Proxy.newProxyInstance(SOAPBodyTest.class.getClassLoader(),
+                new Class<?>[] { SOAPBody.class }, (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "removeContents":
+                            documents.clear();
+                            return null;
+                        case "addDocument":
+                            documents.add((Document) args[0]);
+                            return null;
+                        default:
+                    }
+                    if (!method.isDefault())
+                        throw new UnsupportedOperationException(method.toString());
+                    return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectSpecial(method, method.getDeclaringClass())
+                        .bindTo(self)
+                        .invokeWithArguments(args);
+                });
+        }
+    }
+}
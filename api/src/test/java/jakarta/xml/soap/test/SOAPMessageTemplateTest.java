@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPMessageTemplate;
+import jakarta.xml.soap.SOAPPart;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SOAPMessageTemplateTest {
+
+    private static final String NS = "urn:test";
+
+    @Test
+    public void escapesTextAndAttributeSlots() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        SOAPMessageTemplate.Slot text = template.addTextSlot(message.id);
+        SOAPMessageTemplate.Slot attr = template.addAttributeSlot(message.id, new QName("ref"));
+        template.compile();
+        assertEquals("7", text.getDefaultValue());
+        assertEquals("old", attr.getDefaultValue());
+
+        String textValue = "x < y & \"z\" 'w' > \u00e9\r\n";
+        String attrValue = "a\"b<c&d'e\tf\ng\rh";
+        SOAPMessageTemplate.Instance instance = template.newInstance()
+            .setValue(text, textValue)
+            .setValue(attr, attrValue);
+        Element id = parse(render(instance)).getDocumentElement();
+        assertEquals(textValue, id.getTextContent());
+        assertEquals(attrValue, id.getAttribute("ref"));
+
+        // untouched slots keep the prototype values
+        Element defaults = parse(render(template.newInstance())).getDocumentElement();
+        assertEquals("7", defaults.getTextContent());
+        assertEquals("old", defaults.getAttribute("ref"));
+    }
+
+    @Test
+    public void encodesNonAsciiWithNonUnicodeCharset() throws Exception {
+        StubMessage message = new StubMessage("ISO-8859-1");
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        SOAPMessageTemplate.Slot text = template.addTextSlot(message.id);
+        SOAPMessageTemplate.Slot attr = template.addAttributeSlot(message.id, new QName("ref"));
+        template.compile();
+
+        String value = "Gr\u00fc\u00dfe \u20ac \ud83d\ude00";
+        byte[] out = render(template.newInstance().setValue(text, value).setValue(attr, value));
+        String raw = new String(out, "ISO-8859-1");
+        // encodable characters are written as is, the others as references
+        assertTrue(raw, raw.contains("Gr\u00fc\u00dfe &#x20ac; &#x1f600;"));
+        Element id = parse(out).getDocumentElement();
+        assertEquals(value, id.getTextContent());
+        assertEquals(value, id.getAttribute("ref"));
+    }
+
+    @Test
+    public void recomputesContentLength() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        SOAPMessageTemplate.Slot text = template.addTextSlot(message.id);
+        SOAPMessageTemplate.Slot action = template.addMimeHeaderSlot("SOAPAction");
+        template.compile();
+        assertEquals("\"urn:prototype\"", action.getDefaultValue());
+
+        SOAPMessageTemplate.Instance instance = template.newInstance()
+            .setValue(text, "a much longer value with \u00e9 & <markup>")
+            .setValue(action, "\"urn:lookup\"");
+        MimeHeaders headers = instance.getMimeHeaders();
+        assertEquals(Integer.toString(render(instance).length), headers.getHeader("Content-Length")[0]);
+        assertEquals("\"urn:lookup\"", headers.getHeader("SOAPAction")[0]);
+        assertEquals("text/xml; charset=utf-8", headers.getHeader("Content-Type")[0]);
+
+        instance.setValue(action, null);
+        assertEquals("\"urn:prototype\"", instance.getMimeHeaders().getHeader("SOAPAction")[0]);
+    }
+
+    @Test
+    public void restoresPrototypeAfterFailedWrite() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        byte[] original = message.serialize();
+        message.failWrite = true;
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        template.addTextSlot(message.id);
+        template.addAttributeSlot(message.id, new QName("ref"));
+        template.addAttributeSlot(message.id, new QName("added"));
+        try {
+            template.compile();
+            fail("compile must fail");
+        } catch (IOException e) {
+            // expected
+        }
+        assertFalse(template.isCompiled());
+        assertArrayEquals(original, message.serialize());
+    }
+
+    @Test
+    public void restoresPrototypeAfterUnlocatedSlot() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        byte[] original = message.serialize();
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        template.addTextSlot(message.id);
+        // an element that is not part of the serialized message
+        template.addTextSlot(message.detached);
+        try {
+            template.compile();
+            fail("compile must fail");
+        } catch (SOAPException e) {
+            // expected
+        }
+        assertFalse(template.isCompiled());
+        assertArrayEquals(original, message.serialize());
+    }
+
+    @Test
+    public void compiledTemplateIsThreadSafe() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        SOAPMessageTemplate.Slot text = template.addTextSlot(message.id);
+        template.compile();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String value = "\u00e9\u4e2d" + i;
+                        byte[] out = render(template.newInstance().setValue(text, value));
+                        assertEquals(value, parse(out).getDocumentElement().getTextContent());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results)
+                result.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compiledStateIsPublishedToOtherThreads() throws Exception {
+        StubMessage message = new StubMessage("utf-8");
+        byte[] expected = message.serialize();
+        SOAPMessageTemplate template = new SOAPMessageTemplate(message);
+        SOAPMessageTemplate.Slot text = template.addTextSlot(message.id);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    // spin until the compiling thread publishes the template
+                    while (!template.isCompiled())
+                        Thread.yield();
+                    SOAPMessageTemplate.Instance instance = template.newInstance();
+                    assertEquals("7", instance.getValue(text));
+                    assertArrayEquals(expected, render(instance));
+                    return null;
+                }));
+            }
+            template.compile();
+            for (Future<?> result : results)
+                result.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] render(SOAPMessageTemplate.Instance instance) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        instance.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    /**
+     * A message whose SOAP part is a plain DOM document with a single
+     * {@code id} element, exposed through a {@code SOAPElement} proxy.
+     */
+    private static final class StubMessage extends SOAPMessage {
+        private final Document document;
+        private final String encoding;
+        private final MimeHeaders headers = new MimeHeaders();
+        final SOAPElement id;
+        final SOAPElement detached;
+        boolean failWrite;
+
+        StubMessage(String encoding) throws Exception {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            this.document = dbf.newDocumentBuilder().newDocument();
+            this.encoding = encoding;
+            Element root = document.createElementNS(NS, "t:id");
+            root.setAttributeNS(null, "ref", "old");
+            root.appendChild(document.createTextNode("7"));
+            document.appendChild(root);
+            this.id = element(root);
+            this.detached = element(document.createElementNS(NS, "t:other"));
+            headers.addHeader("Content-Type", "text/xml; charset=" + encoding);
+            headers.addHeader("SOAPAction", "\"urn:prototype\"");
+        }
+
+        byte[] serialize() throws IOException {
+            try {
+                Transformer transformer = TransformerFactory.newInstance().newTransformer();
+                transformer.setOutputProperty(OutputKeys.ENCODING, encoding);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                transformer.transform(new DOMSource(document), new StreamResult(out));
+                return out.toByteArray();
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if (failWrite)
+                throw new IOException("write failed");
+            out.write(serialize());
+        }
+
+        @Override
+        public void saveChanges() throws SOAPException {
+            try {
+                headers.setHeader("Content-Length", Integer.toString(serialize().length));
+            } catch (IOException e) {
+                throw new SOAPException(e);
+            }
+        }
+
+        @Override
+        public boolean saveRequired() {
+            return false;
+        }
+
+        @Override
+        public MimeHeaders getMimeHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Object getProperty(String property) {
+            return CHARACTER_SET_ENCODING.equals(property) ? encoding : null;
+        }
+
+        @Override
+        public void setContentDescription(String description) {
+        }
+
+        @Override
+        public String getContentDescription() {
+            return null;
+        }
+
+        @Override
+        public SOAPPart getSOAPPart() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeAllAttachments() {
+        }
+
+        @Override
+        public int countAttachments() {
+            return 0;
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments() {
+            return new ArrayList<AttachmentPart>().iterator();
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+            return getAttachments();
+        }
+
+        @Override
+        public void removeAttachments(MimeHeaders headers) {
+        }
+
+        @Override
+        public AttachmentPart getAttachment(SOAPElement element) {
+            return null;
+        }
+
+        @Override
+        public void addAttachmentPart(AttachmentPart attachmentPart) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttachmentPart createAttachmentPart() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    // a SOAPElement delegating to a DOM element, implementing only the
+    // SAAJ methods used by SOAPMessageTemplate
+    private static SOAPElement element(Element dom) {
+        return (SOAPElement) Proxy.newProxyInstance(SOAPMessageTemplateTest.class.getClassLoader(),
+            new Class<?>[] { SOAPElement.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getElementQName":
+                        return new QName(dom.getNamespaceURI(), dom.getLocalName(), dom.getPrefix());
+                    case "addTextNode":
+                        dom.appendChild(dom.getOwnerDocument().createTextNode((String) args[0]));
+                        return proxy;
+                    case "removeContents":
+                        while (dom.getFirstChild() != null)
+                            dom.removeChild(dom.getFirstChild());
+                        return null;
+                    case "getAttributeValue":
+                        if (args[0] instanceof QName) {
+                            QName name = (QName) args[0];
+                            String ns = name.getNamespaceURI().isEmpty() ? null : name.getNamespaceURI();
+                            return dom.hasAttributeNS(ns, name.getLocalPart())
+                                ? dom.getAttributeNS(ns, name.getLocalPart()) : null;
+                        }
+                        break;
+                    case "addAttribute":
+                        if (args[0] instanceof QName) {
+                            QName name = (QName) args[0];
+                            String ns = name.getNamespaceURI().isEmpty() ? null : name.getNamespaceURI();
+                            dom.setAttributeNS(ns, name.getLocalPart(), (String) args[1]);
+                            return proxy;
+                        }
+                        break;
+                    case "removeAttribute":
+                        if (args[0] instanceof QName) {
+                            QName name = (QName) args[0];
+                            String ns = name.getNamespaceURI().isEmpty() ? null : name.getNamespaceURI();
+                            dom.removeAttributeNS(ns, name.getLocalPart());
+                            return true;
+                        }
+                        break;
+                    default:
+                }
+                Method target;
+                try {
+                    target = Element.class.getMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                try {
+                    return target.invoke(dom, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
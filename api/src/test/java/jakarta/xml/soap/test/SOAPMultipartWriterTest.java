@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPMultipartWriter;
+import jakarta.xml.soap.SOAPPart;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SOAPMultipartWriterTest {
+
+    private static final String ENVELOPE = "<env:Envelope xmlns:env='" + SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE
+        + "'><env:Body/></env:Envelope>";
+
+    @Test
+    public void writesMultipartFraming() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SOAPMultipartWriter writer = new SOAPMultipartWriter(new StubMessage(
+            SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE), out);
+        String boundary = writer.getBoundary();
+        writer.writeSOAPPart();
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("Content-Type", "text/plain");
+        headers.addHeader("Content-ID", "<first>");
+        writer.writeAttachment(headers, new ByteArrayInputStream("one".getBytes(StandardCharsets.US_ASCII)));
+        writer.writeAttachment(null, Channels.newChannel(
+            new ByteArrayInputStream("two".getBytes(StandardCharsets.US_ASCII))));
+        writer.finish();
+
+        String start = start(writer.getMimeHeaders().getHeader("Content-Type")[0]);
+        String expected = "--" + boundary + "\r\n"
+            + "Content-Type: text/xml; charset=utf-8\r\n"
+            + "Content-Transfer-Encoding: binary\r\n"
+            + "Content-ID: " + start + "\r\n"
+            + "\r\n"
+            + ENVELOPE + "\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "Content-ID: <first>\r\n"
+            + "\r\n"
+            + "one\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "\r\n"
+            + "two\r\n"
+            + "--" + boundary + "--\r\n";
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void transportHeaders() throws Exception {
+        StubMessage message = new StubMessage(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE);
+        message.headers.addHeader("Content-Type", "text/xml; charset=utf-8");
+        message.headers.addHeader("Content-Length", "42");
+        message.headers.addHeader("SOAPAction", "\"urn:action\"");
+        SOAPMultipartWriter writer = new SOAPMultipartWriter(message, new ByteArrayOutputStream());
+        MimeHeaders headers = writer.getMimeHeaders();
+        String contentType = headers.getHeader("Content-Type")[0];
+        assertEquals(1, headers.getHeader("Content-Type").length);
+        assertTrue(contentType, contentType.startsWith("multipart/related; type=\"text/xml\"; "));
+        assertTrue(contentType, contentType.contains("boundary=\"" + writer.getBoundary() + "\""));
+        assertTrue(start(contentType).startsWith("<"));
+        assertEquals("\"urn:action\"", headers.getHeader("SOAPAction")[0]);
+        assertNull(headers.getHeader("Content-Length"));
+        // the headers of the message are not modified
+        assertEquals("42", message.headers.getHeader("Content-Length")[0]);
+
+        SOAPMultipartWriter soap12 = new SOAPMultipartWriter(
+            new StubMessage(SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE), new ByteArrayOutputStream());
+        assertTrue(soap12.getMimeHeaders().getHeader("Content-Type")[0]
+            .startsWith("multipart/related; type=\"application/soap+xml\"; "));
+    }
+
+    @Test
+    public void stateErrors() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SOAPMultipartWriter writer = new SOAPMultipartWriter(new StubMessage(
+            SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE), out);
+        try {
+            writer.writeAttachment(null, new ByteArrayInputStream(new byte[0]));
+            fail("attachment before SOAP part");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            writer.finish();
+            fail("finish before SOAP part");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        writer.writeSOAPPart();
+        try {
+            writer.writeSOAPPart();
+            fail("second SOAP part");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        writer.close();
+        String written = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(written, written.endsWith("--" + writer.getBoundary() + "--\r\n"));
+        // finishing again has no effect
+        writer.finish();
+        assertEquals(written, new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+        try {
+            writer.writeAttachment(null, new ByteArrayInputStream(new byte[0]));
+            fail("attachment after finish");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsAttachments() throws Exception {
+        StubMessage message = new StubMessage(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE);
+        message.attachments = 1;
+        SOAPMultipartWriter writer = new SOAPMultipartWriter(message, new ByteArrayOutputStream());
+        try {
+            writer.writeSOAPPart();
+            fail("attachments must be rejected");
+        } catch (SOAPException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsWholeMessageEncodings() throws Exception {
+        assertRejected(SOAPMessage.Property.MTOM.getName(), "true");
+        assertRejected(SOAPMessage.Property.FAST_INFOSET.getName(), Boolean.TRUE);
+        assertRejected(SOAPMessage.Property.CONTENT_ENCODING.getName(), "gzip");
+        // the identity coding does not change the message
+        StubMessage message = new StubMessage(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE);
+        message.properties.put(SOAPMessage.Property.CONTENT_ENCODING.getName(), "identity");
+        new SOAPMultipartWriter(message, new ByteArrayOutputStream());
+    }
+
+    private static void assertRejected(String property, Object value) throws Exception {
+        StubMessage message = new StubMessage(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE);
+        message.properties.put(property, value);
+        try {
+            new SOAPMultipartWriter(message, new ByteArrayOutputStream());
+            fail(property + " must be rejected");
+        } catch (SOAPException e) {
+            // expected
+        }
+    }
+
+    private static String start(String contentType) {
+        int i = contentType.indexOf("start=\"") + "start=\"".length();
+        return contentType.substring(i, contentType.indexOf('"', i));
+    }
+
+    /**
+     * A message with a fixed envelope, rejecting the names of properties
+     * that have not been set as a legacy implementation does.
+     */
+    private static final class StubMessage extends SOAPMessage {
+        final MimeHeaders headers = new MimeHeaders();
+        final Map<String, Object> properties = new HashMap<>();
+        private final SOAPPart part;
+        int attachments;
+
+        StubMessage(String namespaceURI) {
+            part = new StubSOAPPart(namespaceURI);
+        }
+
+        @Override
+        public Object getProperty(String property) throws SOAPException {
+            if (!properties.containsKey(property))
+                throw new SOAPException("Unrecognized property: " + property);
+            return properties.get(property);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(ENVELOPE.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public SOAPPart getSOAPPart() {
+            return part;
+        }
+
+        @Override
+        public int countAttachments() {
+            return attachments;
+        }
+
+        @Override
+        public MimeHeaders getMimeHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void setContentDescription(String description) {
+        }
+
+        @Override
+        public String getContentDescription() {
+            return null;
+        }
+
+        @Override
+        public void removeAllAttachments() {
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeAttachments(MimeHeaders headers) {
+        }
+
+        @Override
+        public AttachmentPart getAttachment(SOAPElement element) {
+            return null;
+        }
+
+        @Override
+        public void addAttachmentPart(AttachmentPart attachmentPart) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttachmentPart createAttachmentPart() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveChanges() {
+        }
+
+        @Override
+        public boolean saveRequired() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+
+import javax.xml.transform.Source;
+
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPPart;
+import org.w3c.dom.Attr;
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Comment;
+import org.w3c.dom.DOMConfiguration;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+import org.w3c.dom.DocumentType;
+import org.w3c.dom.Element;
+import org.w3c.dom.EntityReference;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.ProcessingInstruction;
+import org.w3c.dom.Text;
+import org.w3c.dom.UserDataHandler;
+
+/**
+ * A {@code SOAPPart} whose only supported method is {@code getEnvelope},
+ * returning an envelope that reports the given namespace URI; every other
+ * method throws {@code UnsupportedOperationException}.
+ */
+final class StubSOAPPart extends SOAPPart {
+
+    private final SOAPEnvelope envelope;
+
+    StubSOAPPart(String namespaceURI) {
+        envelope = (SOAPEnvelope) Proxy.newProxyInstance(StubSOAPPart.class.getClassLoader(),
+            new Class<?>[] { SOAPEnvelope.class }, (proxy, method, args) -> {
+                if ("getNamespaceURI".equals(method.getName()))
+                    return namespaceURI;
+                throw new UnsupportedOperationException(method.toString());
+            });
+    }
+
+    @Override
+    public SOAPEnvelope getEnvelope() {
+        return envelope;
+    }
+
+    @Override
+    public void addMimeHeader(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node adoptNode(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node appendChild(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node cloneNode(boolean arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public short compareDocumentPosition(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Attr createAttributeNS(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Attr createAttribute(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CDATASection createCDATASection(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Comment createComment(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DocumentFragment createDocumentFragment() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Element createElementNS(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Element createElement(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public EntityReference createEntityReference(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProcessingInstruction createProcessingInstruction(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Text createTextNode(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void detachNode() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<MimeHeader> getAllMimeHeaders() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NamedNodeMap getAttributes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getBaseURI() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NodeList getChildNodes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Source getContent() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DocumentType getDoctype() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Element getDocumentElement() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getDocumentURI() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DOMConfiguration getDomConfig() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Element getElementById(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NodeList getElementsByTagNameNS(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public NodeList getElementsByTagName(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getFeature(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node getFirstChild() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DOMImplementation getImplementation() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getInputEncoding() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node getLastChild() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getLocalName() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<MimeHeader> getMatchingMimeHeaders(String[] arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String[] getMimeHeader(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node getNextSibling() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getNodeName() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public short getNodeType() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getNodeValue() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Document getOwnerDocument() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SOAPElement getParentElement() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node getParentNode() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getPrefix() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node getPreviousSibling() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean getStrictErrorChecking() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getTextContent() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getUserData(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getValue() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getXmlEncoding() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean getXmlStandalone() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getXmlVersion() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasAttributes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasChildNodes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node importNode(Node arg0, boolean arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node insertBefore(Node arg0, Node arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isDefaultNamespace(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isEqualNode(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isSameNode(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isSupported(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String lookupNamespaceURI(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String lookupPrefix(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void normalizeDocument() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void normalize() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void recycleNode() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAllMimeHeaders() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node removeChild(Node arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeMimeHeader(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node renameNode(Node arg0, String arg1, String arg2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Node replaceChild(Node arg0, Node arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setContent(Source arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setDocumentURI(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setMimeHeader(String arg0, String arg1) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setNodeValue(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setParentElement(SOAPElement arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setPrefix(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setStrictErrorChecking(boolean arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setTextContent(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object setUserData(String arg0, Object arg1, UserDataHandler arg2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setValue(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setXmlStandalone(boolean arg0) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setXmlVersion(String arg0) {
+        throw new UnsupportedOperationException();
+    }
+}